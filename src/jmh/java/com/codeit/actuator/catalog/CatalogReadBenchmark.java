@@ -0,0 +1,84 @@
+package com.codeit.actuator.catalog;
+
+import com.codeit.actuator.ActuatorPracticeApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 단건 조회 처리량: 서블릿(JPA/JDBC) 경로와 reactive(R2DBC) 경로 비교
+ *
+ * 애플리케이션을 같은 JVM 에서 띄우고(application.yml 의 PostgreSQL 사용, 시작 시 샘플 데이터로 초기화)
+ * 동시 연결 16개로 /api/products/{id} 와 /api/reactive/products/{id} 를 호출합니다.
+ * 두 경로 모두 매 요청 DB 를 조회합니다 (If-None-Match 를 보내지 않음).
+ * 코어당 처리량은 점수를 실행한 머신의 코어 수(availableProcessors)로 나눠서 봅니다.
+ * 부하 생성기도 같은 코어를 쓰므로 절대값보다 두 경로의 비율을 봐야 합니다.
+ *
+ * ./gradlew jmh -PjmhIncludes=CatalogRead
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class CatalogReadBenchmark {
+
+    private static final int PRODUCTS = 10; // 샘플 데이터 상품 수
+
+    @Param({"servlet", "reactive"})
+    String stack;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest[] requests;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(ActuatorPracticeApplication.class).run(
+                "--server.port=0",
+                "--management.server.port=0",
+                "--app.reactive-catalog.enabled=true",
+                "--app.concurrency-limit.enabled=false", // 적응형 한도가 16 아래로 내려가 503 이 섞이지 않게
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+        String path = stack.equals("servlet") ? "/api/products/" : "/api/reactive/products/";
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        requests = new HttpRequest[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            requests[i] = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path + (i + 1))).build();
+        }
+    }
+
+    @Benchmark
+    public int getById() throws Exception {
+        HttpRequest request = requests[ThreadLocalRandom.current().nextInt(requests.length)];
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(request.uri() + " -> " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+}
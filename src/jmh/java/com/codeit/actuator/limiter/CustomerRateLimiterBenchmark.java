@@ -0,0 +1,65 @@
+package com.codeit.actuator.limiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 고객별 요청 제한 결정 처리량 (초당 결정 수, 모든 코어에서 동시에 호출)
+ *
+ * spread: 고객 수만큼의 키에 고르게 분산 (대부분 허용, 버킷 생성/조회 + CAS)
+ * hot: 모든 스레드가 한 고객으로 요청 (한 버킷에서 CAS 경합, 대부분 거절 - 예외 없는 tryAcquire 로 결정 비용만 측정)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(Threads.MAX)
+public class CustomerRateLimiterBenchmark {
+
+    @Param({"100000"})
+    int customers;
+
+    private CustomerRateLimiter limiter;
+    private String[] emails;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxKeys(customers * 2);
+
+        // spread 는 거의 거절되지 않도록 충전 속도를 크게, hot 은 기본 등급 그대로
+        RateLimitProperties.Tier generous = new RateLimitProperties.Tier();
+        generous.setCapacity(1_000);
+        generous.setRefillPerSecond(1_000_000);
+        properties.getTiers().put("generous", generous);
+
+        emails = new String[customers];
+        for (int i = 0; i < customers; i++) {
+            emails[i] = "customer" + i + "@example.com";
+            properties.getCustomers().put(emails[i], "generous");
+        }
+
+        limiter = new CustomerRateLimiter(properties, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public void spread() {
+        limiter.acquire(emails[ThreadLocalRandom.current().nextInt(emails.length)]);
+    }
+
+    @Benchmark
+    public long hot() {
+        return limiter.tryAcquire("hot@example.com");
+    }
+}
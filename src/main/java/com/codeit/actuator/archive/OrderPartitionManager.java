@@ -0,0 +1,322 @@
+package com.codeit.actuator.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 주문 테이블 월별 파티션 관리 (PostgreSQL 전용)
+ *
+ * orders 를 created_at 기준 월별 RANGE 파티션 테이블로 바꾸고, 앞으로 쓸 파티션을 미리 만들어 둡니다.
+ * 일정 개월이 지난 파티션은 주문이 모두 끝난 상태(배송 완료/취소)면 orders 에서 떼어(DETACH)
+ * 보관 테이블 orders_archive 에 붙입니다(ATTACH). 행을 옮기지 않으므로 파티션 크기와 무관하게 바로 끝나고,
+ * orders 의 인덱스에는 최근 파티션만 남습니다.
+ * 보관된 파티션은 빈 공간 없이 다시 써서(VACUUM FULL, fillfactor 100) 크기를 줄이고,
+ * 보관용 테이블스페이스를 지정하면 그쪽(예: 압축 파일시스템)으로 옮깁니다.
+ * 여러 인스턴스가 떠 있어도 DDL 은 PostgreSQL advisory lock 을 잡은 한 곳만 실행합니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.order-partitioning", name = "enabled", havingValue = "true")
+@Slf4j
+public class OrderPartitionManager implements InitializingBean {
+
+    private static final String PARTITION_PREFIX = "orders_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final long ADVISORY_LOCK_KEY = 0x4f52445f50415254L; // "ORD_PART"
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int backfillMonths;
+    private final int premakeMonths;
+    private final int archiveAfterMonths;
+    private final String archiveTablespace;
+
+    private final Counter archivedCounter;
+    private final Counter archivedRowsCounter;
+    private final Counter deferredCounter;
+    private final AtomicLong hotPartitions = new AtomicLong();
+    private final AtomicLong archivePartitions = new AtomicLong();
+    private final AtomicLong defaultPartitionRows = new AtomicLong();
+
+    public OrderPartitionManager(DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 EntityManagerFactory entityManagerFactory, // 스키마 생성(ddl-auto) 이후에 실행되도록
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.order-partitioning.backfill-months:12}") int backfillMonths,
+                                 @Value("${app.order-partitioning.premake-months:3}") int premakeMonths,
+                                 @Value("${app.order-partitioning.archive-after-months:6}") int archiveAfterMonths,
+                                 @Value("${app.order-partitioning.archive-tablespace:}") String archiveTablespace) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillMonths = backfillMonths;
+        this.premakeMonths = premakeMonths;
+        this.archiveAfterMonths = archiveAfterMonths;
+        this.archiveTablespace = archiveTablespace;
+
+        this.archivedCounter = Counter.builder("orders.partitions.archived")
+                .description("Monthly order partitions moved to the archive table")
+                .register(meterRegistry);
+        this.archivedRowsCounter = Counter.builder("orders.partitions.archived.rows")
+                .description("Orders in partitions moved to the archive table")
+                .register(meterRegistry);
+        this.deferredCounter = Counter.builder("orders.partitions.archive.deferred")
+                .description("Archive attempts postponed because the partition still has unfinished orders")
+                .register(meterRegistry);
+        Gauge.builder("orders.partitions", hotPartitions, AtomicLong::get)
+                .description("Monthly order partitions")
+                .tag("tier", "hot")
+                .register(meterRegistry);
+        Gauge.builder("orders.partitions", archivePartitions, AtomicLong::get)
+                .description("Monthly order partitions")
+                .tag("tier", "archive")
+                .register(meterRegistry);
+        Gauge.builder("orders.partitions.default.rows", defaultPartitionRows, AtomicLong::get)
+                .description("Orders outside every monthly partition (should stay 0)")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                throw new IllegalStateException("주문 테이블 파티셔닝은 PostgreSQL 에서만 사용할 수 있습니다");
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // 동시에 시작한 인스턴스는 변환이 끝날 때까지 기다렸다가 변환된 테이블을 확인
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, ADVISORY_LOCK_KEY);
+            if (!isPartitioned("orders")) {
+                convert();
+            }
+            createArchiveTable();
+        });
+        createPartitions();
+        refreshGauges();
+    }
+
+    /**
+     * 파티션 유지보수: 다음 달 파티션 생성, 오래된 파티션 보관
+     *
+     * 보관은 여러 트랜잭션으로 나뉘고 VACUUM 은 트랜잭션 밖에서만 실행되므로,
+     * 트랜잭션 범위 잠금 대신 별도 커넥션에 세션 잠금을 잡아 두고 실행합니다 (잡지 못하면 다른 인스턴스가 실행 중).
+     */
+    @Scheduled(cron = "${app.order-partitioning.maintenance-cron:0 10 3 * * *}")
+    public void maintain() throws SQLException {
+        try (Connection lockConnection = dataSource.getConnection()) {
+            if (!advisoryLock(lockConnection, "pg_try_advisory_lock")) {
+                log.debug("다른 인스턴스가 주문 파티션 유지보수 중 - 건너뜀");
+                return;
+            }
+            try {
+                maintainLocked();
+            } finally {
+                advisoryLock(lockConnection, "pg_advisory_unlock");
+            }
+        }
+    }
+
+    private void maintainLocked() {
+        createPartitions();
+
+        YearMonth archiveBefore = YearMonth.now().minusMonths(archiveAfterMonths);
+        for (String partition : partitions("orders")) {
+            YearMonth month = monthOf(partition);
+            if (month != null && month.isBefore(archiveBefore)) {
+                archive(partition, month);
+            }
+        }
+        refreshGauges();
+    }
+
+    /**
+     * 일반 테이블을 파티션 테이블로 변환 (Hibernate 가 만든 테이블의 데이터를 그대로 옮김)
+     */
+    private void convert() {
+        log.info("주문 테이블 파티션 변환 시작");
+
+        // 파티션 테이블은 (id, created_at) 로만 유일성을 보장하므로 orders(id) 를 참조하는 외래 키는 제거
+        jdbcTemplate.query("""
+                        SELECT conrelid::regclass::text AS table_name, conname
+                        FROM pg_constraint
+                        WHERE contype = 'f' AND confrelid = 'orders'::regclass
+                        """,
+                (rs, rowNum) -> "ALTER TABLE " + rs.getString("table_name") + " DROP CONSTRAINT " + rs.getString("conname"))
+                .forEach(jdbcTemplate::execute);
+
+        String sequence = jdbcTemplate.queryForObject("SELECT pg_get_serial_sequence('orders', 'id')", String.class);
+        jdbcTemplate.execute("ALTER TABLE orders RENAME TO orders_unpartitioned");
+        // 이전 스키마에서 남은 보관 테이블 (ddl-auto: create 로 orders 가 새로 만들어진 경우)
+        jdbcTemplate.execute("DROP TABLE IF EXISTS orders_archive");
+        jdbcTemplate.execute("""
+                CREATE TABLE orders (LIKE orders_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+                PARTITION BY RANGE (created_at)
+                """);
+        jdbcTemplate.execute("CREATE TABLE orders_default PARTITION OF orders DEFAULT");
+
+        YearMonth from = YearMonth.now().minusMonths(backfillMonths);
+        YearMonth oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM orders_unpartitioned",
+                (rs, rowNum) -> rs.getTimestamp(1) == null ? null : YearMonth.from(rs.getTimestamp(1).toLocalDateTime()));
+        for (YearMonth month = oldest != null && oldest.isBefore(from) ? oldest : from;
+             !month.isAfter(YearMonth.now().plusMonths(premakeMonths)); month = month.plusMonths(1)) {
+            createPartition(month);
+        }
+
+        int rows = jdbcTemplate.update("INSERT INTO orders SELECT * FROM orders_unpartitioned");
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " OWNED BY orders.id");
+        jdbcTemplate.execute("DROP TABLE orders_unpartitioned");
+
+        // 유일 제약에는 파티션 키가 포함되어야 함 (주문번호는 생성일과 함께 유일)
+        jdbcTemplate.execute("ALTER TABLE orders ADD PRIMARY KEY (id, created_at)");
+        jdbcTemplate.execute("ALTER TABLE orders ADD CONSTRAINT uk_orders_order_number UNIQUE (order_number, created_at)");
+        jdbcTemplate.execute("CREATE INDEX idx_orders_status_created_at ON orders (status, created_at)");
+        jdbcTemplate.execute("ALTER TABLE orders ADD CONSTRAINT fk_orders_product FOREIGN KEY (product_id) REFERENCES products (id)");
+
+        log.info("주문 테이블 파티션 변환 완료 - 옮긴 주문: {}건", rows);
+    }
+
+    private void createArchiveTable() {
+        if (!jdbcTemplate.queryForObject("SELECT to_regclass('orders_archive') IS NOT NULL", Boolean.class)) {
+            jdbcTemplate.execute("""
+                    CREATE TABLE orders_archive (LIKE orders INCLUDING CONSTRAINTS)
+                    PARTITION BY RANGE (created_at)
+                    """);
+            jdbcTemplate.execute("ALTER TABLE orders_archive ADD PRIMARY KEY (id, created_at)");
+            jdbcTemplate.execute("ALTER TABLE orders_archive ADD CONSTRAINT uk_orders_archive_order_number UNIQUE (order_number, created_at)");
+        }
+        // 고객 주문 내역 조회용 (보관 파티션을 붙일 때 파티션마다 같은 인덱스가 만들어짐)
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_orders_archive_customer_email ON orders_archive (customer_email)");
+    }
+
+    /**
+     * 보관 대상 이전부터 미리 만들 달까지 파티션 생성 (이미 있거나 보관된 달은 건너뜀)
+     */
+    private void createPartitions() {
+        YearMonth last = YearMonth.now().plusMonths(premakeMonths);
+        for (YearMonth month = YearMonth.now().minusMonths(Math.min(backfillMonths, archiveAfterMonths));
+             !month.isAfter(last); month = month.plusMonths(1)) {
+            if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NULL", Boolean.class, partitionName(month))) {
+                try {
+                    createPartition(month);
+                } catch (RuntimeException e) {
+                    // 기본 파티션에 같은 달 주문이 있으면 만들 수 없음 (orders.partitions.default.rows 로 확인)
+                    log.warn("주문 파티션 생성 실패 - {}: {}", partitionName(month), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void createPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month) + " PARTITION OF orders "
+                + "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    /**
+     * 한 달 파티션을 보관 테이블로 이동
+     */
+    private void archive(String partition, YearMonth month) {
+        // 잠금 없이 먼저 확인해서 대부분의 연기 건은 orders 를 잠그지 않고 넘어감
+        if (countUnfinished(partition) > 0) {
+            deferredCounter.increment();
+            log.info("주문 파티션 보관 연기 - {}: 끝나지 않은 주문이 있음", partition);
+            return;
+        }
+
+        Boolean moved = transactionTemplate.execute(status -> {
+            // DETACH 는 orders 전체를 잠그므로 오래 기다리지 않도록 제한 (실패하면 다음 주기에 다시 시도)
+            jdbcTemplate.execute("SET LOCAL lock_timeout = '5s'");
+            jdbcTemplate.execute("ALTER TABLE orders DETACH PARTITION " + partition);
+            if (countUnfinished(partition) > 0) {
+                status.setRollbackOnly();
+                return false;
+            }
+            jdbcTemplate.execute("ALTER TABLE orders_archive ATTACH PARTITION " + partition
+                    + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+            return true;
+        });
+        if (!Boolean.TRUE.equals(moved)) {
+            deferredCounter.increment();
+            return;
+        }
+
+        // 더 이상 바뀌지 않으므로 빈 공간 없이 다시 쓰고 동결 (트랜잭션 밖에서만 실행 가능)
+        jdbcTemplate.execute("ALTER TABLE " + partition + " SET (fillfactor = 100)");
+        jdbcTemplate.execute("VACUUM (FULL, FREEZE, ANALYZE) " + partition);
+        if (!archiveTablespace.isBlank()) {
+            jdbcTemplate.execute("ALTER TABLE " + partition + " SET TABLESPACE " + archiveTablespace);
+        }
+
+        Long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition, Long.class);
+        archivedCounter.increment();
+        archivedRowsCounter.increment(rows);
+        log.info("주문 파티션 보관 완료 - {}: {}건", partition, rows);
+    }
+
+    private long countUnfinished(String partition) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + partition
+                + " WHERE status NOT IN ('DELIVERED', 'CANCELLED')", Long.class);
+        return count != null ? count : 0;
+    }
+
+    private void refreshGauges() {
+        hotPartitions.set(partitions("orders").stream().filter(name -> monthOf(name) != null).count());
+        archivePartitions.set(partitions("orders_archive").size());
+        defaultPartitionRows.set(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM orders_default", Long.class));
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(?)")) {
+            statement.setLong(1, ADVISORY_LOCK_KEY);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+
+    private boolean isPartitioned(String table) {
+        return "p".equals(jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, table));
+    }
+
+    private List<String> partitions(String table) {
+        return jdbcTemplate.queryForList("""
+                SELECT c.relname
+                FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = ?::regclass
+                ORDER BY c.relname
+                """, String.class, table);
+    }
+
+    private static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + month.format(SUFFIX);
+    }
+
+    private static YearMonth monthOf(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX);
+    }
+}
@@ -0,0 +1,291 @@
+package com.codeit.actuator.cache;
+
+import com.codeit.actuator.domain.Order;
+import com.codeit.actuator.dto.OrderResponse;
+import com.codeit.actuator.event.OrderEvent;
+import com.codeit.actuator.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * 고객(이메일)별 주문 내역 캐시
+ *
+ * 주문 생성/상태 변경이 커밋되면 캐시된 목록을 버리지 않고 해당 주문만 바꿔 끼웁니다.
+ * 조회(채우기)와 커밋이 겹치면 조회 결과가 커밋 이전 상태일 수 있으므로,
+ * 이메일 해시 구간(stripe)별 세대 번호를 조회 전후로 비교해서 그 사이 변경이 있었으면 저장하지 않습니다.
+ * 최대 개수를 넘으면 몇 개를 표본으로 골라 가장 오래 조회되지 않은 항목을 내보냅니다.
+ * 커밋 이벤트는 이 인스턴스의 변경만 알려주므로, DB 에서 채운 지 ttl 이 지난 목록은 다시 조회합니다.
+ * 다른 인스턴스에서 바뀐 주문은 최대 ttl 늦게 보입니다.
+ * 월별 파티셔닝을 켜면 orders_archive 로 옮겨진 오래된 주문도 함께 조회합니다.
+ */
+@Component
+@Slf4j
+public class CustomerOrderCache {
+
+    private static final int STRIPES = 1024;
+    private static final int EVICTION_SAMPLES = 8;
+    private static final int EVICTION_SKIP = 256;
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxEntries;
+    private final int maxOrdersPerEntry;
+    private final long ttlNanos;
+    private final boolean archiveLookup;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+    private final AtomicLong totalBytes = new AtomicLong();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter updateCounter;
+    private final DistributionSummary entryBytes;
+
+    public CustomerOrderCache(OrderRepository orderRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.order-history-cache.max-entries:10000}") int maxEntries,
+                              @Value("${app.order-history-cache.max-orders-per-entry:200}") int maxOrdersPerEntry,
+                              @Value("${app.order-history-cache.ttl:PT30S}") Duration ttl,
+                              @Value("${app.order-partitioning.enabled:false}") boolean archiveLookup) {
+        this.orderRepository = orderRepository;
+        // 채우기는 주 DB 에서 (복제본 지연으로 이미 반영된 변경보다 오래된 목록을 캐시하지 않도록)
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxEntries = maxEntries;
+        this.maxOrdersPerEntry = maxOrdersPerEntry;
+        this.ttlNanos = ttl.toNanos();
+        this.archiveLookup = archiveLookup;
+
+        this.hitCounter = Counter.builder("orders.history.cache.requests")
+                .description("Customer order history cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("orders.history.cache.requests")
+                .description("Customer order history cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.updateCounter = Counter.builder("orders.history.cache.updates")
+                .description("Cached order histories updated in place from committed order events")
+                .register(meterRegistry);
+        this.entryBytes = DistributionSummary.builder("orders.history.cache.entry.bytes")
+                .description("Estimated heap footprint of a cached order history")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("orders.history.cache.size", entries, Map::size)
+                .description("Customers with a cached order history")
+                .register(meterRegistry);
+        Gauge.builder("orders.history.cache.bytes", totalBytes, AtomicLong::get)
+                .description("Estimated heap footprint of all cached order histories")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 고객 주문 목록 조회 (없으면 DB 에서 채움)
+     */
+    public List<OrderResponse> get(String email) {
+        Entry entry = entries.get(email);
+        if (entry != null && System.nanoTime() - entry.loadedAt > ttlNanos) {
+            // 다른 인스턴스의 변경이 빠졌을 수 있으므로 버리고 다시 채움
+            if (entries.remove(email, entry)) {
+                totalBytes.addAndGet(-entry.bytes);
+            }
+            entry = null;
+        }
+        if (entry != null) {
+            hitCounter.increment();
+            entry.lastAccess = System.nanoTime();
+            return Collections.unmodifiableList(Arrays.asList(entry.orders));
+        }
+
+        missCounter.increment();
+        int stripe = stripe(email);
+        long generation = generations.get(stripe);
+
+        OrderResponse[] orders = transactionTemplate.execute(status -> {
+            Stream<Order> found = orderRepository.findByCustomerEmail(email).stream();
+            if (archiveLookup) {
+                found = Stream.concat(found, orderRepository.findArchivedByCustomerEmail(email).stream());
+            }
+            return found.map(OrderResponse::from).toArray(OrderResponse[]::new);
+        });
+
+        // 조회하는 동안 같은 구간에 커밋된 변경이 있으면 캐시하지 않음 (다음 조회에서 다시 채움)
+        if (orders.length <= maxOrdersPerEntry) {
+            store(email, orders, stripe, generation);
+        }
+        return Collections.unmodifiableList(Arrays.asList(orders));
+    }
+
+    /**
+     * 커밋된 주문 변경을 캐시된 목록에 반영
+     */
+    @TransactionalEventListener
+    public void onOrderEvent(OrderEvent event) {
+        OrderResponse order = event.order();
+        String email = order.getCustomerEmail();
+        generations.incrementAndGet(stripe(email));
+
+        entries.computeIfPresent(email, (key, entry) -> {
+            OrderResponse[] orders = entry.orders;
+            int index = indexOf(orders, order.getId());
+            OrderResponse[] updated;
+            if (index >= 0) {
+                updated = orders.clone();
+                updated[index] = order;
+            } else if (orders.length < maxOrdersPerEntry) {
+                updated = Arrays.copyOf(orders, orders.length + 1);
+                updated[orders.length] = order;
+            } else {
+                totalBytes.addAndGet(-entry.bytes);
+                return null; // 너무 커지면 캐시에서 제외
+            }
+            updateCounter.increment();
+            return replace(key, entry, updated);
+        });
+    }
+
+    private void store(String email, OrderResponse[] orders, int stripe, long generation) {
+        entries.compute(email, (key, previous) -> {
+            // 이벤트 반영과 같은 키 잠금 안에서 비교해야 확인 직후 커밋된 변경을 놓치지 않음
+            if (generations.get(stripe) != generation) {
+                return previous;
+            }
+            if (previous != null) {
+                totalBytes.addAndGet(-previous.bytes);
+            }
+            return newEntry(key, orders, System.nanoTime());
+        });
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+    }
+
+    private Entry replace(String email, Entry entry, OrderResponse[] orders) {
+        Entry updated = newEntry(email, orders, entry.loadedAt);
+        updated.lastAccess = entry.lastAccess;
+        totalBytes.addAndGet(-entry.bytes);
+        return updated;
+    }
+
+    private Entry newEntry(String email, OrderResponse[] orders, long loadedAt) {
+        long bytes = estimateBytes(email, orders);
+        entryBytes.record(bytes);
+        totalBytes.addAndGet(bytes);
+        return new Entry(orders, bytes, loadedAt);
+    }
+
+    /**
+     * 표본 중 가장 오래 조회되지 않은 항목 제거 (근사 LRU)
+     */
+    private void evict() {
+        while (entries.size() > maxEntries) {
+            String oldestKey = null;
+            long oldestAccess = Long.MAX_VALUE;
+            Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+            // 항상 같은 앞쪽 항목만 표본이 되지 않도록 임의 개수를 건너뜀
+            int skip = ThreadLocalRandom.current().nextInt(Math.max(1, Math.min(entries.size() - EVICTION_SAMPLES, EVICTION_SKIP)));
+            for (; skip > 0 && iterator.hasNext(); skip--) {
+                iterator.next();
+            }
+            for (int i = 0; i < EVICTION_SAMPLES && iterator.hasNext(); i++) {
+                Map.Entry<String, Entry> candidate = iterator.next();
+                if (oldestKey == null || candidate.getValue().lastAccess - oldestAccess < 0) {
+                    oldestKey = candidate.getKey();
+                    oldestAccess = candidate.getValue().lastAccess;
+                }
+            }
+            if (oldestKey == null) {
+                return;
+            }
+            Entry removed = entries.remove(oldestKey);
+            if (removed != null) {
+                totalBytes.addAndGet(-removed.bytes);
+            }
+        }
+    }
+
+    private static int indexOf(OrderResponse[] orders, Long orderId) {
+        for (int i = 0; i < orders.length; i++) {
+            if (orders[i].getId().equals(orderId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int stripe(String email) {
+        int hash = email.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    /**
+     * 대략적인 힙 사용량 (객체 헤더, 참조, 문자열 내용, LocalDateTime 포함)
+     */
+    private static long estimateBytes(String email, OrderResponse[] orders) {
+        long bytes = 32 + 16 + 4L * orders.length + stringBytes(email);
+        for (OrderResponse order : orders) {
+            bytes += 64                                     // OrderResponse 객체 + 참조 필드
+                    + 3 * 16                                // Long, Integer 박싱
+                    + 2 * 48                                // LocalDateTime (날짜 + 시간 객체 포함)
+                    + stringBytes(order.getOrderNumber())
+                    + stringBytes(order.getProductName())
+                    + stringBytes(order.getCustomerName())
+                    + stringBytes(order.getCustomerEmail())
+                    + stringBytes(order.getDeliveryAddress())
+                    + 16 + 4L * order.getItems().size();   // 항목 리스트
+            for (OrderResponse.Item item : order.getItems()) {
+                bytes += 32 + 3 * 16                        // Item 객체 + Long, Integer 박싱
+                        + stringBytes(item.getProductName())
+                        + stringBytes(item.getCategory());
+            }
+        }
+        return bytes;
+    }
+
+    private static long stringBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        // 한글이 있으면 UTF-16 (2바이트), 아니면 Latin-1 (1바이트)
+        boolean latin1 = value.chars().allMatch(c -> c < 256);
+        return 40 + (long) value.length() * (latin1 ? 1 : 2);
+    }
+
+    /**
+     * 캐시 항목 (목록은 교체만 하고 수정하지 않음)
+     */
+    private static final class Entry {
+        final OrderResponse[] orders;
+        final long bytes;
+        final long loadedAt; // DB 에서 채운 시각 (이벤트로 바꿔 끼워도 유지)
+        volatile long lastAccess = System.nanoTime();
+
+        Entry(OrderResponse[] orders, long bytes, long loadedAt) {
+            this.orders = orders;
+            this.bytes = bytes;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
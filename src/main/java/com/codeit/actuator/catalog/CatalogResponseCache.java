@@ -0,0 +1,175 @@
+package com.codeit.actuator.catalog;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 직렬화된 카탈로그 응답 캐시
+ *
+ * 목록 화면별(전체, 카테고리별, 선택 필드별) JSON 바이트와 gzip 바이트를 ETag 와 함께 보관하고,
+ * ETag(카탈로그 버전)가 바뀐 화면만 다시 조회/직렬화합니다.
+ * 변경이 없는 동안에는 보관된 바이트를 그대로 응답에 씁니다.
+ * 같은 화면/ETag 를 동시에 여러 요청이 놓치면 한 요청만 조회/직렬화하고 나머지는 그 결과를 기다립니다.
+ * 화면 키는 요청 파라미터(카테고리, 필드)로 정해지므로 최근에 쓴 화면 MAX_VIEWS 개만 보관합니다(LRU).
+ */
+@Component
+@Slf4j
+public class CatalogResponseCache {
+
+    private static final int MAX_VIEWS = 256; // 임의의 카테고리/필드 조합이 들어와도 메모리 제한
+
+    private final ObjectMapper objectMapper;
+    // 접근 순서 LinkedHashMap (조회도 순서를 바꾸므로 항상 entries 로 동기화)
+    private final Map<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_VIEWS;
+        }
+    };
+    private final Map<String, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>(); // 화면+ETag 별 진행 중인 생성
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter coalescedCounter;
+
+    public CatalogResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.hitCounter = Counter.builder("catalog.cache.requests")
+                .description("Catalog response cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("catalog.cache.requests")
+                .description("Catalog response cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.coalescedCounter = Counter.builder("catalog.cache.requests")
+                .description("Catalog response cache lookups")
+                .tag("result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("catalog.cache.bytes", this, CatalogResponseCache::bytes)
+                .description("Bytes held by cached catalog responses")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 응답 조회, ETag 가 다르면 다시 만들어서 저장
+     *
+     * @param view   화면 키 (예: all, category:전자제품, all?fields=id,name,price)
+     * @param eTag   DB 조회 전에 읽은 현재 ETag
+     * @param loader 상품 목록 조회
+     */
+    public Entry get(String view, String eTag, Supplier<? extends List<?>> loader) {
+        Entry cached = cached(view);
+        if (cached != null && cached.eTag().equals(eTag)) {
+            hitCounter.increment();
+            return cached;
+        }
+
+        String key = view + "\n" + eTag;
+        CompletableFuture<Entry> mine = new CompletableFuture<>();
+        CompletableFuture<Entry> inFlight = loading.putIfAbsent(key, mine);
+        if (inFlight != null) {
+            coalescedCounter.increment();
+            return await(inFlight);
+        }
+
+        try {
+            // 앞선 생성이 끝나고 loading 에서 빠진 직후에 들어온 경우
+            cached = cached(view);
+            if (cached != null && cached.eTag().equals(eTag)) {
+                hitCounter.increment();
+                mine.complete(cached);
+                return cached;
+            }
+
+            missCounter.increment();
+            Entry built = build(eTag, loader.get());
+            synchronized (entries) {
+                entries.put(view, built);
+            }
+            mine.complete(built);
+            return built;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, mine);
+        }
+    }
+
+    private Entry cached(String view) {
+        synchronized (entries) {
+            return entries.get(view);
+        }
+    }
+
+    private double bytes() {
+        synchronized (entries) {
+            return entries.values().stream().mapToLong(Entry::size).sum();
+        }
+    }
+
+    /**
+     * 다른 요청이 만드는 응답을 기다림 (실패하면 같은 예외)
+     */
+    private static Entry await(CompletableFuture<Entry> inFlight) {
+        try {
+            return inFlight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private Entry build(String eTag, List<?> products) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(products);
+            log.debug("카탈로그 응답 직렬화 - ETag: {}, 상품: {}개, {}bytes", eTag, products.size(), json.length);
+            return new Entry(eTag, json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("카탈로그 응답 직렬화 실패", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, json.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 직렬화된 응답
+     */
+    public record Entry(String eTag, byte[] json, byte[] gzip) {
+
+        long size() {
+            return json.length + gzip.length;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.codeit.actuator.catalog;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 상품 카탈로그 버전 (PostgreSQL 전용)
+ *
+ * 버전은 DB 상태에서만 만들어서 어느 인스턴스가 응답해도 같은 내용이면 같은 ETag 가 나옵니다.
+ * products 의 문장 단위 트리거가 바뀐 카테고리(변경 전/후 모두)마다 catalog_versions 의 변경 횟수를 1 올리고,
+ * 전체/카테고리 ETag 는 이 횟수의 합계, 상품 ETag 는 상품 행의 xmin(마지막으로 고친 트랜잭션 id)입니다.
+ * 합계는 커밋할 때마다 늘어나므로 커밋 순서와 관계없이 변경이 드러나고,
+ * 조회는 작은 표 하나와 기본 키 조회뿐이라 상품 수와 관계없이 저렴합니다.
+ * 카테고리마다 행을 SHARDS 개로 나누고 트랜잭션 id 로 고르므로 같은 카테고리를 고치는 주문끼리도 거의 기다리지 않습니다.
+ * 버전은 DB 조회 전에 읽어야 합니다. 그래야 조회 중 변경이 커밋되더라도 다음 요청의 ETag 가 달라집니다.
+ */
+@Slf4j
+@Component
+public class CatalogVersion implements InitializingBean {
+
+    private static final int SHARDS = 16;
+    private static final long ADVISORY_LOCK_KEY = 0x4341545f56455253L; // "CAT_VERS"
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public CatalogVersion(DataSource dataSource,
+                          PlatformTransactionManager transactionManager,
+                          EntityManagerFactory entityManagerFactory) { // 스키마 생성(ddl-auto) 이후에 실행되도록
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 변경 횟수 표와 트리거 설치 (여러 인스턴스가 동시에 시작해도 한 곳씩 실행)
+     */
+    @Override
+    public void afterPropertiesSet() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)", Object.class, ADVISORY_LOCK_KEY);
+            jdbcTemplate.execute("""
+                    CREATE TABLE IF NOT EXISTS catalog_versions (
+                        category text NOT NULL,
+                        shard int NOT NULL,
+                        changes bigint NOT NULL,
+                        PRIMARY KEY (category, shard)
+                    )
+                    """);
+            jdbcTemplate.execute("""
+                    CREATE OR REPLACE FUNCTION bump_catalog_versions() RETURNS trigger LANGUAGE plpgsql AS $$
+                    DECLARE
+                        shard_no int := (txid_current() %% %d)::int;
+                    BEGIN
+                        -- 카테고리 순서로 갱신해서 여러 카테고리를 고치는 트랜잭션끼리 교착되지 않게 함
+                        IF TG_OP = 'INSERT' THEN
+                            INSERT INTO catalog_versions (category, shard, changes)
+                            SELECT DISTINCT category, shard_no, 1 FROM new_rows ORDER BY 1
+                            ON CONFLICT (category, shard) DO UPDATE SET changes = catalog_versions.changes + 1;
+                        ELSIF TG_OP = 'UPDATE' THEN
+                            INSERT INTO catalog_versions (category, shard, changes)
+                            SELECT category, shard_no, 1
+                            FROM (SELECT category FROM new_rows UNION SELECT category FROM old_rows) c ORDER BY 1
+                            ON CONFLICT (category, shard) DO UPDATE SET changes = catalog_versions.changes + 1;
+                        ELSE
+                            INSERT INTO catalog_versions (category, shard, changes)
+                            SELECT DISTINCT category, shard_no, 1 FROM old_rows ORDER BY 1
+                            ON CONFLICT (category, shard) DO UPDATE SET changes = catalog_versions.changes + 1;
+                        END IF;
+                        RETURN NULL;
+                    END
+                    $$
+                    """.formatted(SHARDS));
+            List.of(
+                    "CREATE TRIGGER products_catalog_version_insert AFTER INSERT ON products "
+                            + "REFERENCING NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION bump_catalog_versions()",
+                    "CREATE TRIGGER products_catalog_version_update AFTER UPDATE ON products "
+                            + "REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows FOR EACH STATEMENT EXECUTE FUNCTION bump_catalog_versions()",
+                    "CREATE TRIGGER products_catalog_version_delete AFTER DELETE ON products "
+                            + "REFERENCING OLD TABLE AS old_rows FOR EACH STATEMENT EXECUTE FUNCTION bump_catalog_versions()"
+            ).forEach(trigger -> {
+                String name = trigger.split(" ")[2];
+                jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + name + " ON products");
+                jdbcTemplate.execute(trigger);
+            });
+        });
+        log.info("카탈로그 버전 트리거 설치 완료 - 카테고리당 {}개 행", SHARDS);
+    }
+
+    /**
+     * 전체 목록/검색 결과 ETag
+     */
+    public String catalogETag() {
+        Long changes = jdbcTemplate.queryForObject(
+                "SELECT coalesce(sum(changes), 0) FROM catalog_versions", Long.class);
+        return eTag("all-" + changes);
+    }
+
+    /**
+     * 카테고리 목록 ETag
+     */
+    public String categoryETag(String category) {
+        Long changes = jdbcTemplate.queryForObject(
+                "SELECT coalesce(sum(changes), 0) FROM catalog_versions WHERE category = ?", Long.class, category);
+        return eTag("c-" + changes);
+    }
+
+    /**
+     * 상품 단건 ETag (없는 상품은 0, 이어지는 조회가 404 로 응답)
+     */
+    public String productETag(Long productId) {
+        List<String> rowVersion = jdbcTemplate.queryForList(
+                "SELECT CAST(xmin AS text) FROM products WHERE id = ?", String.class, productId);
+        return eTag("p" + productId + "-" + (rowVersion.isEmpty() ? "0" : rowVersion.get(0)));
+    }
+
+    private static String eTag(String tag) {
+        return "\"" + tag + "\"";
+    }
+}
@@ -0,0 +1,232 @@
+package com.codeit.actuator.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+/**
+ * 대량 합성 데이터 적재
+ *
+ * SyntheticDataGenerator 로 만든 상품/주문을 여러 스레드가 id 범위를 나눠 적재합니다.
+ * PostgreSQL 이면 COPY 프로토콜로 스트리밍하고, 그 외 DB 는 배치 INSERT 를 사용합니다.
+ * 외래 키 순서대로 상품, 주문, 주문 항목을 차례로 적재합니다.
+ */
+@Component
+@Order(1)
+@ConditionalOnProperty(prefix = "app.seed.bulk", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(BulkSeedProperties.class)
+@Slf4j
+public class BulkDataLoader implements CommandLineRunner {
+
+    private static final String[] PRODUCT_COLUMNS =
+            {"id", "name", "description", "price", "stock", "category", "created_at", "updated_at"};
+    private static final String[] ORDER_COLUMNS =
+            {"id", "order_number", "product_id", "quantity", "total_amount", "status",
+                    "customer_name", "customer_email", "delivery_address", "created_at", "updated_at"};
+    private static final String[] ORDER_ITEM_COLUMNS =
+            {"id", "order_id", "product_id", "quantity", "unit_price", "amount"};
+
+    private static final int ORDER_ITEM_ID_ALLOCATION = 50; // OrderItem 의 allocationSize
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final BulkSeedProperties properties;
+    private final Duration pendingMaxAge;
+
+    public BulkDataLoader(DataSource dataSource, BulkSeedProperties properties,
+                          @Value("${app.order-expiry.max-age:PT30M}") Duration pendingMaxAge) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.properties = properties;
+        this.pendingMaxAge = pendingMaxAge;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        long firstProductId = nextId("products");
+        long firstOrderId = nextId("orders");
+        long firstItemId = nextId("order_items");
+        boolean copy = supportsCopy();
+
+        log.info("대량 데이터 적재 시작 - 상품: {}개, 주문: {}건, 스레드: {}, 방식: {}",
+                properties.getProducts(), properties.getOrders(), properties.getThreads(), copy ? "COPY" : "배치 INSERT");
+
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(properties.getRandomSeed(), firstProductId,
+                properties.getProducts(), properties.getCustomers(), properties.getZipfExponent(), pendingMaxAge);
+
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getThreads());
+        try {
+            load(executor, "products", PRODUCT_COLUMNS, properties.getProducts(),
+                    index -> Collections.singletonList(generator.product((int) index)), copy);
+            load(executor, "orders", ORDER_COLUMNS, properties.getOrders(),
+                    index -> Collections.singletonList(generator.order(firstOrderId + index)), copy);
+            // 항목 id 는 주문마다 최대 항목 수만큼 구간을 잡아서 스레드끼리 겹치지 않게 함
+            load(executor, "order_items", ORDER_ITEM_COLUMNS, properties.getOrders(),
+                    index -> generator.orderItems(firstOrderId + index,
+                            firstItemId + index * SyntheticDataGenerator.MAX_ITEMS_PER_ORDER), copy);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        restartIdentity("products", firstProductId + properties.getProducts(), copy);
+        restartIdentity("orders", firstOrderId + properties.getOrders(), copy);
+        restartPooledSequence("order_items_seq",
+                firstItemId + properties.getOrders() * SyntheticDataGenerator.MAX_ITEMS_PER_ORDER);
+        if (copy) {
+            jdbcTemplate.execute("ANALYZE products, orders, order_items");
+        }
+    }
+
+    /**
+     * 한 테이블을 id 범위별로 나눠 병렬 적재
+     *
+     * @param count     생성기 호출 횟수 (호출마다 여러 행을 만들 수 있음)
+     * @param generator 인덱스별 행 생성
+     */
+    private void load(ExecutorService executor, String table, String[] columns, long count,
+                      LongFunction<List<Object[]>> generator, boolean copy) throws InterruptedException, ExecutionException {
+        long startedAt = System.nanoTime();
+        // 스레드보다 범위를 잘게 나눠서 먼저 끝난 스레드가 남은 범위를 가져가도록 함
+        long chunkSize = Math.max(properties.getBatchSize(), count / (properties.getThreads() * 4L) + 1);
+
+        List<Future<Long>> futures = new ArrayList<>();
+        for (long from = 0; from < count; from += chunkSize) {
+            long start = from;
+            long end = Math.min(count, from + chunkSize);
+            futures.add(executor.submit(() -> copy
+                    ? copyRange(table, columns, start, end, generator)
+                    : insertRange(table, columns, start, end, generator)));
+        }
+        long rows = 0;
+        for (Future<Long> future : futures) {
+            rows += future.get();
+        }
+
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        log.info("{} 적재 완료 - {}건, {}초, 초당 {}건",
+                table, rows, String.format("%.1f", seconds), String.format("%.0f", rows / Math.max(seconds, 1e-3)));
+    }
+
+    private long copyRange(String table, String[] columns, long start, long end,
+                           LongFunction<List<Object[]>> generator) throws SQLException {
+        String sql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)";
+        try (Connection connection = dataSource.getConnection()) {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+            try {
+                StringBuilder csv = new StringBuilder(properties.getBatchSize() * 160);
+                for (long index = start; index < end; index++) {
+                    for (Object[] row : generator.apply(index)) {
+                        appendCsv(csv, row);
+                    }
+                    if ((index - start + 1) % properties.getBatchSize() == 0) {
+                        write(copyIn, csv);
+                    }
+                }
+                write(copyIn, csv);
+                return copyIn.endCopy();
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        }
+    }
+
+    private long insertRange(String table, String[] columns, long start, long end,
+                             LongFunction<List<Object[]>> generator) {
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + "?, ".repeat(columns.length - 1) + "?)";
+        List<Object[]> batch = new ArrayList<>(properties.getBatchSize());
+        long rows = 0;
+        for (long index = start; index < end; index++) {
+            batch.addAll(generator.apply(index));
+            if (batch.size() >= properties.getBatchSize()) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                rows += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+            rows += batch.size();
+        }
+        return rows;
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder csv) throws SQLException {
+        if (csv.isEmpty()) {
+            return;
+        }
+        byte[] bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        csv.setLength(0);
+    }
+
+    private static void appendCsv(StringBuilder csv, Object[] row) {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            Object value = row[i];
+            if (value instanceof String text) {
+                csv.append('"').append(text.replace("\"", "\"\"")).append('"');
+            } else {
+                csv.append(value);
+            }
+        }
+        csv.append('\n');
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        return max == null ? 1 : max + 1;
+    }
+
+    /**
+     * 직접 지정한 id 다음부터 자동 생성되도록 identity 재설정
+     * (PostgreSQL 은 Hibernate 가 bigserial 로 만들므로 컬럼에 연결된 시퀀스를 옮김)
+     */
+    private void restartIdentity(String table, long nextId, boolean postgres) {
+        if (postgres) {
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence(?, 'id'), ?, false)",
+                    Long.class, table, nextId);
+        } else {
+            jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId);
+        }
+    }
+
+    /**
+     * 항목 id 시퀀스 재설정
+     * Hibernate pooled 최적화는 시퀀스 값 v 를 받으면 (v - 할당 단위, v] 구간을 쓰므로 할당 단위만큼 더해서 시작
+     */
+    private void restartPooledSequence(String sequence, long nextId) {
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (nextId + ORDER_ITEM_ID_ALLOCATION));
+    }
+
+    private boolean supportsCopy() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isWrapperFor(PGConnection.class);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.codeit.actuator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 대량 합성 데이터 적재 설정 (app.seed.bulk.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.seed.bulk")
+public class BulkSeedProperties {
+
+    private boolean enabled = false;
+    private int products = 1_000_000;
+    private long orders = 5_000_000;
+    private int customers = 200_000;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int batchSize = 10_000;       // COPY 전송 / 배치 INSERT 단위
+    private double zipfExponent = 1.1;    // 클수록 인기 상품/단골 고객에 주문이 몰림
+    private long randomSeed = 42;         // 같은 시드면 같은 데이터
+}
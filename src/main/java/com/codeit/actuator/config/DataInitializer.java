@@ -5,13 +5,18 @@ import com.codeit.actuator.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
 /**
  * 초기 데이터 생성
  * 애플리케이션 시작 시 샘플 상품 데이터를 자동으로 생성합니다.
+ * (app.seed.sample.enabled=false 면 생략, fast-startup 프로필 기본값)
  */
 @Component
+@ConditionalOnProperty(prefix = "app.seed.sample", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Order(0)
 @RequiredArgsConstructor
 @Slf4j
 public class DataInitializer implements CommandLineRunner {
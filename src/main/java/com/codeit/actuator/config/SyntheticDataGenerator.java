@@ -0,0 +1,179 @@
+package com.codeit.actuator.config;
+
+import com.codeit.actuator.domain.OrderStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+/**
+ * 대량 합성 데이터 생성기
+ *
+ * 상품은 카테고리별 이름/가격대를 따르고, 주문(과 주문 항목)은 Zipf 분포로 인기 상품과 단골 고객에 몰리도록 만듭니다.
+ * 같은 시드와 범위로 생성하면 항상 같은 데이터가 나오므로 여러 스레드가 범위를 나눠 만들 수 있습니다.
+ */
+public class SyntheticDataGenerator {
+
+    private static final String[] CATEGORIES = {"전자제품", "의류", "식품", "도서"};
+    private static final String[][] NOUNS = {
+            {"노트북", "스마트폰", "태블릿", "모니터", "키보드", "마우스", "이어폰", "스마트워치", "카메라", "스피커"},
+            {"티셔츠", "청바지", "니트", "코트", "원피스", "셔츠", "후드티", "슬랙스", "패딩", "운동화"},
+            {"유기농 쌀", "김치", "한우 세트", "제주 감귤", "고구마", "현미", "견과류", "홍삼", "녹차", "참기름"},
+            {"소설", "에세이", "자기계발서", "요리책", "여행 가이드", "만화", "시집", "역사책", "과학 교양서", "개발 서적"}
+    };
+    private static final String[] ADJECTIVES = {"프리미엄", "베이직", "초경량", "고급", "실속형", "한정판", "신상", "국내산", "인기", "스페셜"};
+    private static final int[][] PRICE_RANGES = {{50_000, 3_000_000}, {10_000, 300_000}, {3_000, 200_000}, {8_000, 60_000}};
+
+    private static final String[] SURNAMES = {"김", "이", "박", "최", "정", "강", "조", "윤", "장", "임"};
+    private static final String[] GIVEN_NAMES = {"민준", "서연", "도윤", "하은", "시우", "지우", "예준", "수아", "주원", "지민"};
+    private static final String[] DISTRICTS = {"강남구", "서초구", "송파구", "마포구", "용산구", "성동구", "노원구", "관악구", "영등포구", "종로구"};
+
+    /** 주문 한 건에 담기는 최대 항목 수 (항목 id 범위 계산용) */
+    public static final int MAX_ITEMS_PER_ORDER = 3;
+
+    // 상태 분포 (누적): 대기 10%, 확인 10%, 배송 중 15%, 배송 완료 55%, 취소 10%
+    private static final OrderStatus[] STATUSES = {
+            OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.SHIPPED, OrderStatus.DELIVERED, OrderStatus.CANCELLED};
+    private static final double[] STATUS_CDF = {0.10, 0.20, 0.35, 0.90, 1.0};
+
+    private final long seed;
+    private final double[] productCdf;  // 인기 순위 -> 누적 확률
+    private final double[] customerCdf;
+    private final int[] productPrices;  // 주문 금액 계산용
+    private final long firstProductId;
+    private final Duration pendingMaxAge;
+    private final LocalDateTime now = LocalDateTime.now().withNano(0);
+
+    /**
+     * @param pendingMaxAge 대기 주문의 최대 경과 시간 (주문 만료 기준, 이보다 오래된 대기 주문은 만들지 않음)
+     */
+    public SyntheticDataGenerator(long seed, long firstProductId, int productCount, int customerCount, double zipfExponent,
+                                  Duration pendingMaxAge) {
+        this.seed = seed;
+        this.firstProductId = firstProductId;
+        this.pendingMaxAge = pendingMaxAge;
+        this.productCdf = zipfCdf(productCount, zipfExponent);
+        this.customerCdf = zipfCdf(customerCount, zipfExponent);
+        this.productPrices = new int[productCount];
+        for (int i = 0; i < productCount; i++) {
+            productPrices[i] = price(i);
+        }
+    }
+
+    /**
+     * 상품 한 건: id, name, description, price, stock, category, created_at, updated_at
+     */
+    public Object[] product(int index) {
+        SplittableRandom random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+        int category = index % CATEGORIES.length;
+        String noun = NOUNS[category][random.nextInt(NOUNS[category].length)];
+        String adjective = ADJECTIVES[random.nextInt(ADJECTIVES.length)];
+        LocalDateTime createdAt = now.minusMinutes(random.nextInt(365 * 24 * 60));
+
+        return new Object[]{
+                firstProductId + index,
+                adjective + " " + noun + " " + (index + 1),
+                CATEGORIES[category] + " " + noun + " - " + adjective + " 상품",
+                productPrices[index],
+                random.nextInt(10) == 0 ? 0 : random.nextInt(1, 500), // 10% 품절
+                CATEGORIES[category],
+                createdAt,
+                createdAt
+        };
+    }
+
+    /**
+     * 주문 한 건: id, order_number, product_id, quantity, total_amount, status,
+     * customer_name, customer_email, delivery_address, created_at, updated_at
+     * (product_id 는 첫 번째 항목, quantity/total_amount 는 항목 합계)
+     */
+    public Object[] order(long orderId) {
+        SplittableRandom random = new SplittableRandom(~seed ^ (orderId * 0xC2B2AE3D27D4EB4FL));
+        int customer = sample(customerCdf, random.nextDouble());
+        OrderStatus status = STATUSES[sample(STATUS_CDF, random.nextDouble())];
+        // 만료 기준보다 오래된 대기 주문은 실제로는 이미 취소되어 있으므로 기준 안에서만 만듦
+        LocalDateTime createdAt = status == OrderStatus.PENDING
+                ? now.minusSeconds(random.nextLong(Math.max(1, pendingMaxAge.toSeconds())))
+                : now.minusMinutes(random.nextInt(180 * 24 * 60));
+
+        int quantity = 0;
+        int totalAmount = 0;
+        List<Object[]> items = orderItems(orderId, 0);
+        for (Object[] item : items) {
+            quantity += (int) item[3];
+            totalAmount += (int) item[5];
+        }
+
+        return new Object[]{
+                orderId,
+                String.format("ORD-%s-%07d", createdAt.toLocalDate().toString().replace("-", ""), orderId),
+                items.get(0)[2],
+                quantity,
+                totalAmount,
+                status.name(),
+                SURNAMES[customer % SURNAMES.length] + GIVEN_NAMES[(customer / SURNAMES.length) % GIVEN_NAMES.length],
+                "customer" + customer + "@example.com",
+                "서울시 " + DISTRICTS[customer % DISTRICTS.length] + " " + (customer % 300 + 1) + "길 " + (customer % 50 + 1),
+                createdAt,
+                createdAt.plusHours(status == OrderStatus.PENDING ? 0 : random.nextInt(1, 72))
+        };
+    }
+
+    /**
+     * 주문 항목 (1~3개, 같은 상품은 합침): id, order_id, product_id, quantity, unit_price, amount
+     *
+     * @param firstItemId 이 주문의 첫 번째 항목 id (항목마다 1씩 증가)
+     */
+    public List<Object[]> orderItems(long orderId, long firstItemId) {
+        SplittableRandom random = new SplittableRandom(seed ^ (orderId * 0x632BE59BD9B4E019L));
+        int count = random.nextInt(10) < 7 ? 1 : random.nextInt(2, MAX_ITEMS_PER_ORDER + 1); // 70% 단일 항목
+
+        Map<Integer, Integer> quantities = new TreeMap<>();
+        for (int i = 0; i < count; i++) {
+            int product = sample(productCdf, random.nextDouble());
+            quantities.merge(product, random.nextInt(10) < 8 ? 1 : random.nextInt(2, 6), Integer::sum);
+        }
+
+        List<Object[]> items = new ArrayList<>(quantities.size());
+        quantities.forEach((product, quantity) -> items.add(new Object[]{
+                firstItemId + items.size(),
+                orderId,
+                firstProductId + product,
+                quantity,
+                productPrices[product],
+                productPrices[product] * quantity
+        }));
+        return items;
+    }
+
+    private int price(int index) {
+        SplittableRandom random = new SplittableRandom(seed + index);
+        int[] range = PRICE_RANGES[index % CATEGORIES.length];
+        // 로그 균등 분포 후 100원 단위 절사
+        double log = Math.log(range[0]) + random.nextDouble() * (Math.log(range[1]) - Math.log(range[0]));
+        return (int) (Math.exp(log) / 100) * 100;
+    }
+
+    private static double[] zipfCdf(int size, double exponent) {
+        double[] cdf = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, exponent);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cdf[rank] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int sample(double[] cdf, double value) {
+        int index = Arrays.binarySearch(cdf, value);
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+}
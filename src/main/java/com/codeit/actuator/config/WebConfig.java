@@ -0,0 +1,44 @@
+package com.codeit.actuator.config;
+
+import com.codeit.actuator.limiter.AdaptiveConcurrencyLimiter;
+import com.codeit.actuator.limiter.ConcurrencyLimitInterceptor;
+import com.codeit.actuator.limiter.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Set;
+
+/**
+ * 웹 MVC 설정
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitProperties concurrencyLimitProperties;
+    private final MeterRegistry meterRegistry;
+
+    public WebConfig(ConcurrencyLimitProperties concurrencyLimitProperties, MeterRegistry meterRegistry) {
+        this.concurrencyLimitProperties = concurrencyLimitProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (concurrencyLimitProperties.isEnabled()) {
+            // 상품 조회와 주문 쓰기는 서로 다른 한도로 분리 (조회 폭주가 주문을 막지 않도록)
+            AdaptiveConcurrencyLimiter catalogRead = new AdaptiveConcurrencyLimiter(
+                    "catalog-read", concurrencyLimitProperties.getCatalogRead(), meterRegistry);
+            AdaptiveConcurrencyLimiter orderWrite = new AdaptiveConcurrencyLimiter(
+                    "order-write", concurrencyLimitProperties.getOrderWrite(), meterRegistry);
+
+            registry.addInterceptor(new ConcurrencyLimitInterceptor(catalogRead, Set.of("GET")))
+                    .addPathPatterns("/api/products", "/api/products/**");
+            registry.addInterceptor(new ConcurrencyLimitInterceptor(orderWrite, Set.of("POST")))
+                    .addPathPatterns("/api/orders", "/api/orders/**");
+        }
+    }
+}
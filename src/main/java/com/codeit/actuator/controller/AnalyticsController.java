@@ -0,0 +1,47 @@
+package com.codeit.actuator.controller;
+
+import com.codeit.actuator.dto.RevenueRollupResponse;
+import com.codeit.actuator.service.OrderAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 매출 분석 컨트롤러
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsController {
+
+    private final OrderAnalyticsService orderAnalyticsService;
+
+    /**
+     * 카테고리/일자/상태별 매출 집계 조회
+     */
+    @GetMapping("/revenue")
+    public ResponseEntity<RevenueRollupResponse> getRevenue() {
+        log.info("매출 집계 조회 요청");
+
+        RevenueRollupResponse rollups = orderAnalyticsService.getRollups();
+
+        return ResponseEntity.ok(rollups);
+    }
+
+    /**
+     * 매출 집계 재생성
+     */
+    @PostMapping("/revenue/rebuild")
+    public ResponseEntity<RevenueRollupResponse> rebuildRevenue() {
+        log.info("매출 집계 재생성 요청");
+
+        RevenueRollupResponse rollups = orderAnalyticsService.rebuild();
+
+        return ResponseEntity.ok(rollups);
+    }
+}
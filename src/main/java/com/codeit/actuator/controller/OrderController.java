@@ -1,13 +1,20 @@
 package com.codeit.actuator.controller;
 
 import com.codeit.actuator.dto.OrderRequest;
+import com.codeit.actuator.datasource.PrimaryWalPosition;
+import com.codeit.actuator.datasource.ReplicaRoutingContext;
 import com.codeit.actuator.dto.OrderResponse;
+import com.codeit.actuator.limiter.CustomerRateLimiter;
+import com.codeit.actuator.service.IdempotencyService;
 import com.codeit.actuator.service.OrderService;
+import com.codeit.actuator.sse.OrderStatusHub;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -21,6 +28,10 @@ import java.util.List;
 public class OrderController {
     
     private final OrderService orderService;
+    private final CustomerRateLimiter customerRateLimiter;
+    private final IdempotencyService idempotencyService;
+    private final OrderStatusHub orderStatusHub;
+    private final PrimaryWalPosition primaryWalPosition;
     
     /**
      * 전체 주문 조회
@@ -59,6 +70,29 @@ public class OrderController {
         return ResponseEntity.ok(order);
     }
     
+    /**
+     * 주문 상태 변경 구독 (SSE)
+     * 현재 상태를 먼저 보내고, 이후 확인/배송/완료/취소가 커밋될 때마다 보냅니다.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEvents(@PathVariable Long id) {
+        log.info("주문 상태 구독 요청 - ID: {}", id);
+        
+        return orderStatusHub.subscribe(id, () -> orderService.findById(id));
+    }
+    
+    /**
+     * 주문번호로 주문 상태 변경 구독 (SSE)
+     */
+    @GetMapping(value = "/number/{orderNumber}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrderEventsByNumber(@PathVariable String orderNumber) {
+        log.info("주문 상태 구독 요청 - 주문번호: {}", orderNumber);
+        
+        Long id = orderService.findByOrderNumber(orderNumber).getId();
+        
+        return orderStatusHub.subscribe(id, () -> orderService.findById(id));
+    }
+    
     /**
      * 이메일로 주문 조회
      */
@@ -77,13 +111,23 @@ public class OrderController {
      */
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody OrderRequest request) {
-        log.info("주문 생성 요청 - 상품ID: {}, 고객: {}", 
-                request.getProductId(), request.getCustomerName());
+        log.info("주문 생성 요청 - 항목: {}개, 고객: {}", 
+                request.getLines().size(), request.getCustomerName());
         
-        OrderResponse order = orderService.create(request);
+        // 고객별 요청 한도 확인
+        customerRateLimiter.acquire(request.getCustomerEmail());
         
-        return ResponseEntity.ok(order);
+        // 재시도 요청은 Idempotency-Key 로 처음 응답을 그대로 반환
+        OrderResponse order = idempotencyKey == null
+                ? orderService.create(request)
+                : idempotencyService.execute(idempotencyKey, request, () -> orderService.create(request));
+        
+        // 이후 조회에 이 헤더를 돌려보내면 커밋 위치까지 재생한 DB 에서만 읽음 (read-your-writes)
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        primaryWalPosition.current().ifPresent(lsn -> response.header(ReplicaRoutingContext.READ_AFTER_HEADER, lsn));
+        return response.body(order);
     }
     
     /**
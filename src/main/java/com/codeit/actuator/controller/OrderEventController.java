@@ -0,0 +1,82 @@
+package com.codeit.actuator.controller;
+
+import com.codeit.actuator.outbox.OrderEventConsumers;
+import com.codeit.actuator.outbox.OrderEventLog;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 이벤트 로그 컨트롤러
+ * 소비자는 offset 부터 이어서 읽고(tail), 응답의 X-Next-Offset 으로 다음 요청을 보냅니다.
+ * 이벤트 로그는 릴레이가 켜진 인스턴스에만 있습니다.
+ */
+@RestController
+@ConditionalOnProperty(prefix = "app.outbox.relay", name = "enabled", havingValue = "true")
+@RequestMapping("/api/order-events")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventController {
+
+    private static final int MAX_LIMIT = 1000;
+    private static final byte[] RECORD_END = "}\n".getBytes(StandardCharsets.UTF_8); // {"offset":N,"event": 를 닫고 줄바꿈
+
+    private final OrderEventLog orderEventLog;
+    private final OrderEventConsumers orderEventConsumers;
+
+    /**
+     * offset 부터 이벤트 읽기 (NDJSON: {"offset":N,"event":{...}})
+     */
+    @GetMapping(produces = "application/x-ndjson")
+    public void readEvents(@RequestParam(defaultValue = "0") long offset,
+                           @RequestParam(defaultValue = "100") int limit,
+                           @RequestParam(required = false) String consumer,
+                           HttpServletResponse response) throws IOException {
+        log.debug("주문 이벤트 조회 요청 - offset: {}, limit: {}, 소비자: {}", offset, limit, consumer);
+
+        List<OrderEventLog.Record> records = orderEventLog.read(offset, Math.max(1, Math.min(limit, MAX_LIMIT)));
+        long nextOffset = records.isEmpty()
+                ? Math.max(offset, orderEventLog.getStartOffset())
+                : records.get(records.size() - 1).offset() + 1;
+
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader("X-Next-Offset", String.valueOf(nextOffset));
+        response.setHeader("X-End-Offset", String.valueOf(orderEventLog.getEndOffset()));
+
+        // 매핑된 로그 버퍼를 그대로 응답 스트림에 씀
+        WritableByteChannel channel = Channels.newChannel(response.getOutputStream());
+        for (OrderEventLog.Record record : records) {
+            channel.write(ByteBuffer.wrap(
+                    ("{\"offset\":" + record.offset() + ",\"event\":").getBytes(StandardCharsets.UTF_8)));
+            channel.write(record.payload());
+            channel.write(ByteBuffer.wrap(RECORD_END));
+        }
+        response.flushBuffer();
+
+        if (consumer != null) {
+            orderEventConsumers.commit(consumer, nextOffset);
+        }
+    }
+
+    /**
+     * 소비자별 지연(남은 이벤트 수) 조회
+     */
+    @GetMapping("/consumers")
+    public ResponseEntity<Map<String, Long>> getConsumerLags() {
+        log.info("주문 이벤트 소비자 지연 조회 요청");
+
+        return ResponseEntity.ok(orderEventConsumers.lags());
+    }
+}
@@ -1,15 +1,27 @@
 package com.codeit.actuator.controller;
 
+import com.codeit.actuator.catalog.CatalogResponseCache;
+import com.codeit.actuator.catalog.CatalogVersion;
+import com.codeit.actuator.dto.ProductField;
+import com.codeit.actuator.dto.ProductImportResult;
 import com.codeit.actuator.dto.ProductRequest;
 import com.codeit.actuator.dto.ProductResponse;
+import com.codeit.actuator.service.ProductImportService;
 import com.codeit.actuator.service.ProductService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * 상품 컨트롤러
@@ -21,55 +33,105 @@ import java.util.List;
 public class ProductController {
     
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final CatalogVersion catalogVersion;
+    private final CatalogResponseCache catalogResponseCache;
     
     /**
      * 전체 상품 조회
+     * fields=name,price,stock 처럼 필드를 고르면 해당 컬럼만 조회/직렬화 (id 는 항상 포함)
      */
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        log.info("전체 상품 조회 요청");
+    public ResponseEntity<byte[]> getAllProducts(
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        log.info("전체 상품 조회 요청 - 필드: {}", fields);
         
-        List<ProductResponse> products = productService.findAll();
+        Set<ProductField> selected = fields != null ? ProductField.parse(fields) : null;
         
-        return ResponseEntity.ok(products);
+        // 변경이 없으면 DB 조회 없이 304
+        String eTag = fieldsETag(catalogVersion.catalogETag(), selected);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        if (webRequest.checkNotModified(encodingETag(eTag, gzip))) {
+            return null;
+        }
+        
+        // 변경이 없으면 직렬화해 둔 바이트를 그대로 응답
+        CatalogResponseCache.Entry cached = selected == null
+                ? catalogResponseCache.get("all", eTag, productService::findAll)
+                : catalogResponseCache.get("all?fields=" + ProductField.toString(selected), eTag,
+                        () -> productService.findFields(selected, null, null));
+        
+        return cachedResponse(cached, gzip);
     }
     
     /**
      * 상품 ID로 조회
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProduct(@PathVariable Long id) {
+    public ResponseEntity<ProductResponse> getProduct(@PathVariable Long id, WebRequest webRequest) {
         log.info("상품 조회 요청 - ID: {}", id);
         
+        String eTag = catalogVersion.productETag(id);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        
         ProductResponse product = productService.findById(id);
         
-        return ResponseEntity.ok(product);
+        return ResponseEntity.ok().eTag(eTag).body(product);
     }
     
     /**
      * 카테고리별 상품 조회
      */
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<ProductResponse>> getProductsByCategory(
-            @PathVariable String category) {
-        log.info("카테고리별 상품 조회 요청 - 카테고리: {}", category);
+    public ResponseEntity<byte[]> getProductsByCategory(
+            @PathVariable String category,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        log.info("카테고리별 상품 조회 요청 - 카테고리: {}, 필드: {}", category, fields);
+        
+        Set<ProductField> selected = fields != null ? ProductField.parse(fields) : null;
         
-        List<ProductResponse> products = productService.findByCategory(category);
+        String eTag = fieldsETag(catalogVersion.categoryETag(category), selected);
+        boolean gzip = acceptsGzip(acceptEncoding);
+        if (webRequest.checkNotModified(encodingETag(eTag, gzip))) {
+            return null;
+        }
         
-        return ResponseEntity.ok(products);
+        CatalogResponseCache.Entry cached = selected == null
+                ? catalogResponseCache.get("category:" + category, eTag, () -> productService.findByCategory(category))
+                : catalogResponseCache.get("category:" + category + "?fields=" + ProductField.toString(selected), eTag,
+                        () -> productService.findFields(selected, category, null));
+        
+        return cachedResponse(cached, gzip);
     }
     
     /**
      * 상품명 검색
      */
     @GetMapping("/search")
-    public ResponseEntity<List<ProductResponse>> searchProducts(
-            @RequestParam String keyword) {
-        log.info("상품 검색 요청 - 키워드: {}", keyword);
+    public ResponseEntity<List<?>> searchProducts(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String fields,
+            WebRequest webRequest) {
+        log.info("상품 검색 요청 - 키워드: {}, 필드: {}", keyword, fields);
+        
+        Set<ProductField> selected = fields != null ? ProductField.parse(fields) : null;
         
-        List<ProductResponse> products = productService.searchByName(keyword);
+        String eTag = fieldsETag(catalogVersion.catalogETag(), selected);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         
-        return ResponseEntity.ok(products);
+        List<?> products = selected == null
+                ? productService.searchByName(keyword)
+                : productService.findFields(selected, null, keyword);
+        
+        return ResponseEntity.ok().eTag(eTag).body(products);
     }
     
     /**
@@ -99,6 +161,27 @@ public class ProductController {
         return ResponseEntity.ok(product);
     }
     
+    /**
+     * 상품 일괄 등록/수정 (sku 기준, JSON 배열 또는 줄 단위 JSON)
+     * 본문을 스트리밍으로 읽어 배치 단위로 반영하고, 잘못된 행은 결과의 errors 로 알려 줍니다.
+     */
+    @PostMapping(value = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ProductImportResult> importProducts(InputStream body) throws IOException {
+        log.info("상품 일괄 반영 요청 - JSON");
+        
+        return ResponseEntity.ok(productImportService.importJson(body));
+    }
+    
+    /**
+     * 상품 일괄 등록/수정 (sku 기준, 헤더가 있는 CSV)
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ProductImportResult> importProductsCsv(InputStream body) throws IOException {
+        log.info("상품 일괄 반영 요청 - CSV");
+        
+        return ResponseEntity.ok(productImportService.importCsv(body));
+    }
+    
     /**
      * 상품 삭제
      */
@@ -110,5 +193,73 @@ public class ProductController {
         
         return ResponseEntity.noContent().build();
     }
+    
+    /**
+     * 선택 필드가 다르면 응답 본문도 다르므로 ETag 를 구분
+     */
+    private static String fieldsETag(String eTag, Set<ProductField> fields) {
+        if (fields == null) {
+            return eTag;
+        }
+        int mask = fields.stream().mapToInt(field -> 1 << field.ordinal()).sum();
+        return eTag.substring(0, eTag.length() - 1) + "-f" + Integer.toHexString(mask) + "\"";
+    }
+    
+    /**
+     * gzip 본문은 바이트가 다르므로 강한 ETag 를 구분 (캐시/프록시가 두 표현을 섞지 않게)
+     */
+    private static String encodingETag(String eTag, boolean gzip) {
+        return gzip ? eTag.substring(0, eTag.length() - 1) + "-gz\"" : eTag;
+    }
+    
+    /**
+     * Accept-Encoding 에서 gzip 을 받을 수 있는지 (q=0 은 거부, gzip 이 없으면 * 의 q 값 사용)
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.length() > 2 && param.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        q = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = q;
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return any != null && any > 0;
+    }
+    
+    /**
+     * 캐시된 JSON 바이트 응답 (gzip 을 받을 수 있으면 압축본 사용)
+     */
+    private ResponseEntity<byte[]> cachedResponse(CatalogResponseCache.Entry cached, boolean gzip) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(encodingETag(cached.eTag(), gzip))
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cached.gzip());
+        }
+        return builder.body(cached.json());
+    }
 }
 
@@ -0,0 +1,77 @@
+package com.codeit.actuator.controller;
+
+import com.codeit.actuator.dto.ProductResponse;
+import com.codeit.actuator.exception.ProductNotFoundException;
+import com.codeit.actuator.reactive.ProductRow;
+import com.codeit.actuator.reactive.ReactiveCatalogProperties;
+import com.codeit.actuator.reactive.ReactiveProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 논블로킹 상품 조회 컨트롤러 (app.reactive-catalog.enabled)
+ *
+ * R2DBC 로 조회하므로 요청 스레드와 JDBC 연결을 점유하지 않습니다.
+ * 목록은 NDJSON 으로 스트리밍하며, 클라이언트가 읽는 속도에 맞춰 prefetch 단위로 DB 에서 가져옵니다.
+ */
+@RestController
+@RequestMapping("/api/reactive/products")
+@ConditionalOnProperty(prefix = "app.reactive-catalog", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveProductController {
+
+    private final ReactiveProductRepository reactiveProductRepository;
+    private final ReactiveCatalogProperties properties;
+
+    /**
+     * 전체 상품 조회 (스트리밍)
+     */
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductResponse> getAllProducts() {
+        log.info("전체 상품 조회 요청 (reactive)");
+
+        return stream(reactiveProductRepository.findAll());
+    }
+
+    /**
+     * 상품 ID로 조회
+     */
+    @GetMapping("/{id}")
+    public Mono<ProductResponse> getProduct(@PathVariable Long id) {
+        log.info("상품 조회 요청 (reactive) - ID: {}", id);
+
+        return reactiveProductRepository.findById(id)
+                .map(ProductRow::toResponse)
+                .switchIfEmpty(Mono.error(() -> new ProductNotFoundException(id)));
+    }
+
+    /**
+     * 카테고리별 상품 조회 (스트리밍)
+     */
+    @GetMapping(value = "/category/{category}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductResponse> getProductsByCategory(@PathVariable String category) {
+        log.info("카테고리별 상품 조회 요청 (reactive) - 카테고리: {}", category);
+
+        return stream(reactiveProductRepository.findByCategory(category));
+    }
+
+    /**
+     * 상품명 검색 (스트리밍)
+     */
+    @GetMapping(value = "/search", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ProductResponse> searchProducts(@RequestParam String keyword) {
+        log.info("상품 검색 요청 (reactive) - 키워드: {}", keyword);
+
+        return stream(reactiveProductRepository.findByNameContaining(keyword));
+    }
+
+    private Flux<ProductResponse> stream(Flux<ProductRow> rows) {
+        return rows.limitRate(properties.getPrefetch()).map(ProductRow::toResponse);
+    }
+}
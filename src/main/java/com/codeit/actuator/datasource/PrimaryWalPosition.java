@@ -0,0 +1,38 @@
+package com.codeit.actuator.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+
+/**
+ * primary 의 현재 WAL 위치 조회 (read-your-writes 헤더 값)
+ *
+ * 쓰기 트랜잭션이 커밋된 뒤에 호출하면 그 커밋 레코드 이후의 위치가 나오므로,
+ * 이 위치까지 재생한 복제본에는 방금 쓴 내용이 보입니다.
+ * 복제본 라우팅을 쓰지 않으면 조회하지 않습니다.
+ */
+@Component
+public class PrimaryWalPosition {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean routingEnabled;
+
+    public PrimaryWalPosition(DataSource dataSource,
+                              @Value("${app.datasource.routing.enabled:false}") boolean routingEnabled) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.routingEnabled = routingEnabled;
+    }
+
+    /**
+     * 현재 LSN (트랜잭션 밖에서 호출하므로 primary 로 라우팅됨)
+     */
+    public Optional<String> current() {
+        if (!routingEnabled) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT CAST(pg_current_wal_lsn() AS text)", String.class));
+    }
+}
@@ -0,0 +1,61 @@
+package com.codeit.actuator.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * 읽기 전용 복제본 라우팅 설정
+ *
+ * app.datasource.routing.enabled=true 일 때만 기본 DataSource 를 대체합니다.
+ * 쓰기와 readOnly=false 트랜잭션은 항상 primary(spring.datasource.*)로 갑니다.
+ * primary 풀은 직접 만들므로 spring.datasource.hikari.* 설정을 이 빈에 다시 바인딩합니다.
+ */
+@Configuration
+@EnableConfigurationProperties({ReplicaRoutingProperties.class, DataSourceProperties.class})
+@ConditionalOnProperty(prefix = "app.datasource.routing", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReplicaSet replicaSet(ReplicaRoutingProperties properties, MeterRegistry meterRegistry) {
+        return new ReplicaSet(properties.getReplicas(), properties.getRouting().getMaxLag(), meterRegistry);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary"); // spring.datasource.hikari.pool-name 이 있으면 그 값으로 바뀜
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return primary;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource,
+                                 ReplicaSet replicaSet,
+                                 MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicaSet, meterRegistry);
+        routing.afterPropertiesSet();
+
+        // 트랜잭션 속성이 정해진 뒤 실제 커넥션을 가져옴 (primary 풀은 빈으로 등록돼 종료 시 따로 정리됨)
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter();
+    }
+}
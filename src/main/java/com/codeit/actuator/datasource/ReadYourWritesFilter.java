@@ -0,0 +1,34 @@
+package com.codeit.actuator.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * X-Read-After 헤더를 라우팅 컨텍스트로 옮기는 필터
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String readAfter = request.getHeader(ReplicaRoutingContext.READ_AFTER_HEADER);
+        try {
+            if (readAfter != null) {
+                try {
+                    ReplicaRoutingContext.setReadAfter(ReplicaRoutingContext.parseLsn(readAfter.trim()));
+                } catch (NumberFormatException ignored) {
+                    // 잘못된 헤더는 무시하고 기본 라우팅 사용
+                }
+            }
+            filterChain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+        }
+    }
+}
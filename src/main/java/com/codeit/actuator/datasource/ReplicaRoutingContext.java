@@ -0,0 +1,48 @@
+package com.codeit.actuator.datasource;
+
+/**
+ * 요청 단위 복제본 라우팅 컨텍스트
+ *
+ * 쓰기 직후 같은 클라이언트가 X-Read-After 헤더로 쓰기 커밋 이후의 primary WAL 위치(LSN, 예: 0/3000148)를
+ * 돌려보내면, 그 위치까지 재생한 복제본만 읽기에 사용합니다. (read-your-writes)
+ */
+public final class ReplicaRoutingContext {
+
+    public static final String READ_AFTER_HEADER = "X-Read-After";
+
+    private static final ThreadLocal<Long> READ_AFTER = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    public static void setReadAfter(Long lsn) {
+        READ_AFTER.set(lsn);
+    }
+
+    public static Long getReadAfter() {
+        return READ_AFTER.get();
+    }
+
+    public static void clear() {
+        READ_AFTER.remove();
+    }
+
+    /**
+     * PostgreSQL LSN 문자열(상위/하위 32비트 16진수)을 부호 없는 64비트 정수로 변환
+     * 상위 비트가 켜지면 음수가 되므로 비교는 Long.compareUnsigned 로 해야 합니다.
+     *
+     * @throws NumberFormatException 형식이 맞지 않으면
+     */
+    public static long parseLsn(String lsn) {
+        int slash = lsn.indexOf('/');
+        if (slash < 0) {
+            throw new NumberFormatException("LSN 형식이 아닙니다: " + lsn);
+        }
+        long high = Long.parseUnsignedLong(lsn.substring(0, slash), 16);
+        long low = Long.parseUnsignedLong(lsn.substring(slash + 1), 16);
+        if (Long.compareUnsigned(high, 0xFFFFFFFFL) > 0 || Long.compareUnsigned(low, 0xFFFFFFFFL) > 0) {
+            throw new NumberFormatException("LSN 형식이 아닙니다: " + lsn);
+        }
+        return (high << 32) | low;
+    }
+}
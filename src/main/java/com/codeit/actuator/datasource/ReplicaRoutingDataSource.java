@@ -0,0 +1,63 @@
+package com.codeit.actuator.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * readOnly 트랜잭션을 복제본으로 보내는 라우팅 DataSource
+ *
+ * 트랜잭션 속성이 확정된 뒤에 커넥션을 고르도록 LazyConnectionDataSourceProxy 로 감싸서 사용합니다.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final ReplicaSet replicaSet;
+    private final Counter primaryCounter;
+    private final Map<String, Counter> replicaCounters = new HashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaSet replicaSet, MeterRegistry meterRegistry) {
+        this.replicaSet = replicaSet;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicaSet.getReplicas().forEach(replica -> {
+            targets.put(replica.getName(), replica.getDataSource());
+            replicaCounters.put(replica.getName(), routingCounter(meterRegistry, replica.getName()));
+        });
+        this.primaryCounter = routingCounter(meterRegistry, PRIMARY);
+
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            primaryCounter.increment();
+            return PRIMARY;
+        }
+
+        ReplicaSet.Replica replica = replicaSet.choose(ReplicaRoutingContext.getReadAfter());
+        if (replica == null) {
+            primaryCounter.increment();
+            return PRIMARY;
+        }
+
+        replicaCounters.get(replica.getName()).increment();
+        return replica.getName();
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("datasource.routing")
+                .description("Number of connections routed to each datasource")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,170 @@
+package com.codeit.actuator.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * 읽기 전용 복제본 목록과 복제 지연 모니터
+ *
+ * 주기적으로 각 복제본의 지연을 측정하고, 읽기 요청마다 사용할 수 있는 복제본을 고릅니다.
+ */
+@Slf4j
+public class ReplicaSet implements DisposableBean {
+
+    // 지연: 복제 중이 아니거나 받은 WAL 을 모두 재생했으면 0, 아니면 마지막 재생 트랜잭션 이후 경과 시간
+    // 재생 위치: 여기까지의 WAL 은 복제본에서 읽을 수 있음 (read-your-writes 판단용)
+    private static final String LAG_QUERY = """
+            select case
+                       when not pg_is_in_recovery() then 0
+                       when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0
+                       else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000, 0)
+                   end,
+                   cast(case
+                            when pg_is_in_recovery() then pg_last_wal_replay_lsn()
+                            else pg_current_wal_lsn()
+                        end as text)
+            """;
+
+    private final List<Replica> replicas;
+    private final long maxLagMillis;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaSet(List<ReplicaRoutingProperties.Replica> replicaProperties,
+                      Duration maxLag,
+                      MeterRegistry meterRegistry) {
+        this.maxLagMillis = maxLag.toMillis();
+        this.replicas = IntStream.range(0, replicaProperties.size())
+                .mapToObj(i -> new Replica(replicaProperties.get(i), "replica-" + (i + 1), meterRegistry))
+                .toList();
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * 읽기에 사용할 복제본 선택 (라운드 로빈)
+     *
+     * @param readAfter 이 WAL 위치(LSN)까지 재생한 복제본만 허용, null 이면 지연 한도만 확인
+     * @return 사용할 복제본, 조건을 만족하는 복제본이 없으면 null (primary 사용)
+     */
+    public Replica choose(Long readAfter) {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size == 0 ? 1 : size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.isEligible(maxLagMillis, readAfter)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 복제 지연 측정
+     */
+    @Scheduled(fixedDelayString = "${app.datasource.routing.lag-check-interval:PT1S}")
+    public void checkLag() {
+        replicas.forEach(Replica::checkLag);
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.getDataSource().close());
+    }
+
+    /**
+     * 복제본 하나 (커넥션 풀 + 지연 상태)
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final HikariDataSource dataSource;
+        private final Timer checkTimer;
+
+        private volatile boolean available;
+        private volatile long lagMillis;
+        private volatile long replayedLsn; // 마지막 확인 시점에 재생을 마친 WAL 위치 (이후로 줄어들지 않음)
+
+        Replica(ReplicaRoutingProperties.Replica properties, String defaultName, MeterRegistry meterRegistry) {
+            this.name = properties.getName() != null ? properties.getName() : defaultName;
+
+            this.dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setJdbcUrl(properties.getUrl());
+            dataSource.setUsername(properties.getUsername());
+            dataSource.setPassword(properties.getPassword());
+            dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            dataSource.setInitializationFailTimeout(-1); // 복제본이 없어도 애플리케이션은 기동
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+            this.checkTimer = Timer.builder("datasource.replica.check")
+                    .description("Latency of replica lag probes")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag", this, r -> r.lagMillis)
+                    .description("Replication lag of the replica")
+                    .baseUnit("milliseconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.available", this, r -> r.available ? 1 : 0)
+                    .description("Whether the replica is used for reads")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public HikariDataSource getDataSource() {
+            return dataSource;
+        }
+
+        boolean isEligible(long maxLagMillis, Long readAfter) {
+            if (!available || lagMillis > maxLagMillis) {
+                return false;
+            }
+            return readAfter == null || Long.compareUnsigned(replayedLsn, readAfter) >= 0;
+        }
+
+        void checkLag() {
+            Timer.Sample sample = Timer.start();
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                long lag = Math.round(resultSet.getDouble(1));
+                lagMillis = lag;
+                String lsn = resultSet.getString(2);
+                replayedLsn = lsn != null ? ReplicaRoutingContext.parseLsn(lsn) : 0;
+                if (!available) {
+                    log.info("복제본 사용 가능 - 이름: {}, 지연: {}ms", name, lag);
+                }
+                available = true;
+            } catch (Exception e) {
+                if (available) {
+                    log.warn("복제본 상태 확인 실패 - 이름: {}, 원인: {}", name, e.getMessage());
+                }
+                available = false;
+            } finally {
+                sample.stop(checkTimer);
+            }
+        }
+    }
+}
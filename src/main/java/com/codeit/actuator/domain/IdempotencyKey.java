@@ -0,0 +1,90 @@
+package com.codeit.actuator.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 멱등성 키 엔티티
+ * 주문을 만들기 전에 PENDING 으로 먼저 저장(예약)하고, 주문이 끝나면 처음 응답(상태 코드와 본문)을 담아 COMPLETED 로 바꿉니다.
+ * 키는 고객 이메일별로 구분하고, 같은 키로 다른 요청이 들어오는지 요청 지문으로 확인합니다.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class IdempotencyKey implements Persistable<String> {
+
+    // 고객 이메일 + "/" + Idempotency-Key 헤더 값
+    @Id
+    @Column(name = "idempotency_key", length = 400)
+    private String key;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    // 요청 본문 SHA-256 (같은 키로 다른 주문을 요청하면 거절)
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @Column(columnDefinition = "text")
+    private String response;
+
+    // 처음 응답의 HTTP 상태 (결제 결과 확인 불가는 202, 이전에 저장된 키는 null = 200)
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // 키를 직접 지정하므로 merge(UPDATE) 대신 항상 INSERT 하도록 새 엔티티 여부를 직접 관리
+    @Transient
+    private boolean isNew = true;
+
+    public enum Status {
+        PENDING,   // 주문 처리 중
+        COMPLETED  // 응답 저장됨
+    }
+
+    // 정적 팩토리 메서드
+    public static IdempotencyKey reserve(String key, String requestHash) {
+        IdempotencyKey idempotencyKey = new IdempotencyKey();
+        idempotencyKey.key = key;
+        idempotencyKey.status = Status.PENDING;
+        idempotencyKey.requestHash = requestHash;
+        idempotencyKey.createdAt = LocalDateTime.now();
+        return idempotencyKey;
+    }
+
+    // 비즈니스 메서드
+    public void complete(Long orderId, String response, int responseStatus) {
+        this.status = Status.COMPLETED;
+        this.orderId = orderId;
+        this.response = response;
+        this.responseStatus = responseStatus;
+    }
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
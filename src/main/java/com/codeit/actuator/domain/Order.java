@@ -5,13 +5,19 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * 주문 엔티티
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_status_created_at", columnList = "status, created_at"))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Order {
@@ -23,13 +29,19 @@ public class Order {
     @Column(name = "order_number", nullable = false, unique = true, length = 50)
     private String orderNumber;
     
+    // 대표 상품 (첫 번째 주문 항목)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
     
+    // 전체 항목 수량 합계
     @Column(nullable = false)
     private Integer quantity;
     
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
+    private List<OrderItem> items = new ArrayList<>();
+    
     @Column(name = "total_amount", nullable = false)
     private Integer totalAmount;
     
@@ -54,18 +66,26 @@ public class Order {
     
     // 정적 팩토리 메서드
     public static Order create(
-            Product product,
-            Integer quantity,
+            List<OrderItem> items,
             String customerName,
             String customerEmail,
             String deliveryAddress
     ) {
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("주문 항목이 없습니다.");
+        }
         Order order = new Order();
         order.orderNumber = generateOrderNumber();
-        order.product = product;
-        order.quantity = quantity;
-        order.totalAmount = product.getPrice() * quantity;
-        order.status = OrderStatus.PENDING;
+        order.product = items.get(0).getProduct();
+        order.quantity = 0;
+        order.totalAmount = 0;
+        for (OrderItem item : items) {
+            item.assignTo(order);
+            order.items.add(item);
+            order.quantity += item.getQuantity();
+            order.totalAmount += item.getAmount();
+        }
+        order.status = OrderStatus.AWAITING_PAYMENT;
         order.customerName = customerName;
         order.customerEmail = customerEmail;
         order.deliveryAddress = deliveryAddress;
@@ -74,14 +94,35 @@ public class Order {
         return order;
     }
     
-    // 주문번호 생성 (ORD-20251208-001 형식)
+    // 주문번호 생성 (ORD-20251208-0A1B2C3D4E5F607 형식)
+    // 뒤쪽은 60비트 난수라 여러 인스턴스가 동시에 만들어도 겹치지 않음 (세 자리 난수는 하루 수십 건부터 충돌)
     private static String generateOrderNumber() {
-        return String.format("ORD-%s-%03d",
+        return String.format("ORD-%s-%015X",
                 LocalDateTime.now().toString().substring(0, 10).replace("-", ""),
-                (int) (Math.random() * 1000));
+                ThreadLocalRandom.current().nextLong(1L << 60));
+    }
+    
+    // 주문번호의 날짜 부분 (형식이 다르면 null)
+    public static LocalDate orderDateOf(String orderNumber) {
+        if (orderNumber == null || orderNumber.length() < 12 || !orderNumber.startsWith("ORD-")) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(orderNumber.substring(4, 12), DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
     }
     
     // 비즈니스 메서드
+    public void paymentApproved() {
+        if (this.status != OrderStatus.AWAITING_PAYMENT) {
+            throw new IllegalStateException("결제 대기 중인 주문이 아닙니다.");
+        }
+        this.status = OrderStatus.PENDING;
+        this.updatedAt = LocalDateTime.now();
+    }
+    
     public void confirm() {
         if (this.status != OrderStatus.PENDING) {
             throw new IllegalStateException("대기 중인 주문만 확인할 수 있습니다.");
@@ -117,8 +158,10 @@ public class Order {
         this.updatedAt = LocalDateTime.now();
     }
     
+    // 결제 대기 주문은 결제 결과를 처리하는 쪽(보상 트랜잭션, 만료 작업)만 취소함
     public boolean isCancellable() {
-        return this.status != OrderStatus.DELIVERED && this.status != OrderStatus.CANCELLED;
+        return this.status != OrderStatus.AWAITING_PAYMENT
+                && this.status != OrderStatus.DELIVERED && this.status != OrderStatus.CANCELLED;
     }
 }
 
@@ -0,0 +1,53 @@
+package com.codeit.actuator.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 주문 항목 엔티티
+ * ID 는 시퀀스(할당 단위 50)로 만들어서 여러 항목을 한 번의 배치 INSERT 로 저장합니다.
+ */
+@Entity
+@Table(name = "order_items", indexes = @Index(name = "idx_order_items_order_id", columnList = "order_id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OrderItem {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private Order order;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    @Column(name = "unit_price", nullable = false)
+    private Integer unitPrice;
+    
+    @Column(nullable = false)
+    private Integer amount;
+    
+    // 정적 팩토리 메서드 (주문 시점 가격으로 금액 고정)
+    public static OrderItem create(Product product, Integer quantity) {
+        OrderItem item = new OrderItem();
+        item.product = product;
+        item.quantity = quantity;
+        item.unitPrice = product.getPrice();
+        item.amount = product.getPrice() * quantity;
+        return item;
+    }
+    
+    void assignTo(Order order) {
+        this.order = order;
+    }
+}
@@ -4,6 +4,7 @@ package com.codeit.actuator.domain;
  * 주문 상태
  */
 public enum OrderStatus {
+    AWAITING_PAYMENT, // 결제 대기 (재고만 예약, 확인/배송/고객 취소 불가)
     PENDING,      // 대기
     CONFIRMED,    // 확인
     SHIPPED,      // 배송 중
@@ -0,0 +1,48 @@
+package com.codeit.actuator.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아웃박스 이벤트 엔티티
+ * 주문 상태 변경과 같은 트랜잭션에서 저장하고, 릴레이가 이벤트 로그로 옮긴 뒤 발행 완료로 표시합니다.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = @Index(name = "idx_outbox_events_published_at", columnList = "published_at, id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "event_type", nullable = false, length = 30)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    // 정적 팩토리 메서드
+    public static OutboxEvent create(Long aggregateId, String eventType, String payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.aggregateId = aggregateId;
+        event.eventType = eventType;
+        event.payload = payload;
+        event.createdAt = LocalDateTime.now();
+        return event;
+    }
+}
@@ -20,6 +20,10 @@ public class Product {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // 외부 카탈로그 상품 코드 (일괄 등록/수정의 기준 키, API 로 직접 등록한 상품은 없음)
+    @Column(unique = true, length = 64)
+    private String sku;
+    
     @Column(nullable = false, length = 100)
     private String name;
     
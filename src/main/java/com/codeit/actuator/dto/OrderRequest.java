@@ -1,27 +1,34 @@
 package com.codeit.actuator.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * 주문 생성 요청 DTO
+ * 여러 상품은 items 로, 상품 하나는 기존처럼 productId/quantity 로 요청할 수 있습니다.
  */
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderRequest {
     
-    @NotNull(message = "상품 ID는 필수입니다")
     @Positive(message = "상품 ID는 양수여야 합니다")
     private Long productId;
     
-    @NotNull(message = "수량은 필수입니다")
     @Min(value = 1, message = "최소 1개 이상 주문해야 합니다")
     @Max(value = 100, message = "한 번에 최대 100개까지 주문 가능합니다")
     private Integer quantity;
     
+    @Valid
+    @Size(max = 50, message = "한 주문에 최대 50개 상품까지 담을 수 있습니다")
+    private List<Item> items;
+    
     @NotBlank(message = "고객명은 필수입니다")
     @Size(max = 100, message = "고객명은 100자를 초과할 수 없습니다")
     private String customerName;
@@ -33,5 +40,37 @@ public class OrderRequest {
     @NotBlank(message = "배송 주소는 필수입니다")
     @Size(max = 200, message = "배송 주소는 200자를 초과할 수 없습니다")
     private String deliveryAddress;
+    
+    /**
+     * 주문할 항목 (items 가 없으면 productId/quantity 한 건)
+     */
+    @JsonIgnore
+    @NotEmpty(message = "주문할 상품(productId, quantity 또는 items)은 필수입니다")
+    public List<Item> getLines() {
+        if (items != null && !items.isEmpty()) {
+            return items;
+        }
+        if (productId != null && quantity != null) {
+            return List.of(new Item(productId, quantity));
+        }
+        return List.of();
+    }
+    
+    /**
+     * 주문 항목
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        
+        @NotNull(message = "상품 ID는 필수입니다")
+        @Positive(message = "상품 ID는 양수여야 합니다")
+        private Long productId;
+        
+        @NotNull(message = "수량은 필수입니다")
+        @Min(value = 1, message = "최소 1개 이상 주문해야 합니다")
+        @Max(value = 100, message = "한 번에 최대 100개까지 주문 가능합니다")
+        private Integer quantity;
+    }
 }
-
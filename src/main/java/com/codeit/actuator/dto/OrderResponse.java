@@ -1,17 +1,23 @@
 package com.codeit.actuator.dto;
 
 import com.codeit.actuator.domain.Order;
+import com.codeit.actuator.domain.OrderItem;
 import com.codeit.actuator.domain.OrderStatus;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 주문 응답 DTO
+ * productId/productName 은 대표 상품(첫 번째 항목), quantity 는 전체 수량 합계입니다.
  */
 @Getter
 @AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED) // 저장된 응답 역직렬화용
 public class OrderResponse {
     
     private Long id;
@@ -26,6 +32,7 @@ public class OrderResponse {
     private String deliveryAddress;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private List<Item> items;
     
     public static OrderResponse from(Order order) {
         return new OrderResponse(
@@ -40,8 +47,35 @@ public class OrderResponse {
                 order.getCustomerEmail(),
                 order.getDeliveryAddress(),
                 order.getCreatedAt(),
-                order.getUpdatedAt()
+                order.getUpdatedAt(),
+                order.getItems().stream().map(Item::from).toList()
         );
     }
+    
+    /**
+     * 주문 항목 응답
+     */
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor(access = AccessLevel.PROTECTED)
+    public static class Item {
+        
+        private Long productId;
+        private String productName;
+        private String category;
+        private Integer quantity;
+        private Integer unitPrice;
+        private Integer amount;
+        
+        public static Item from(OrderItem item) {
+            return new Item(
+                    item.getProduct().getId(),
+                    item.getProduct().getName(),
+                    item.getProduct().getCategory(),
+                    item.getQuantity(),
+                    item.getUnitPrice(),
+                    item.getAmount()
+            );
+        }
+    }
 }
-
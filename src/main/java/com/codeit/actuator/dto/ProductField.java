@@ -0,0 +1,61 @@
+package com.codeit.actuator.dto;
+
+import com.codeit.actuator.exception.InvalidFieldsException;
+import lombok.Getter;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 상품 목록에서 골라 받을 수 있는 필드 (fields 파라미터, 이름은 ProductResponse 속성과 같음)
+ */
+@Getter
+public enum ProductField {
+
+    ID("id"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    PRICE("price"),
+    STOCK("stock"),
+    CATEGORY("category"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    private final String name;
+
+    ProductField(String name) {
+        this.name = name;
+    }
+
+    /**
+     * "name,price,stock" 형식 파싱 (id 는 항상 포함, 순서는 선언 순서로 정규화)
+     */
+    public static Set<ProductField> parse(String fields) {
+        Set<ProductField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(of(trimmed));
+        }
+        return selected;
+    }
+
+    /**
+     * 캐시 키 등에 쓰는 정규화된 문자열
+     */
+    public static String toString(Set<ProductField> fields) {
+        return fields.stream().map(ProductField::getName).collect(Collectors.joining(","));
+    }
+
+    private static ProductField of(String name) {
+        for (ProductField field : values()) {
+            if (field.name.equals(name)) {
+                return field;
+            }
+        }
+        throw new InvalidFieldsException(name);
+    }
+}
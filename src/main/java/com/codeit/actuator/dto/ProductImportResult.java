@@ -0,0 +1,37 @@
+package com.codeit.actuator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 상품 일괄 등록/수정 결과 DTO
+ * 배치마다 커밋하므로 중간에 중단되어도(completed=false) 그 전까지 반영된 행은 남습니다.
+ * 실패한 행은 최대 개수까지만 errors 에 담고, 개수는 failed 로 모두 셉니다.
+ * 한 배치 안에서 같은 sku 가 반복되면 마지막 행만 반영하고 앞 행은 superseded 로 세므로,
+ * 중단되지 않았다면 inserted + updated + failed + superseded 가 rows 와 같습니다.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductImportResult {
+
+    private long rows;       // 읽은 행 수
+    private long inserted;
+    private long updated;
+    private long failed;
+    private long superseded; // 같은 배치의 뒤 행으로 대체되어 반영하지 않은 행 수
+    private boolean completed;
+    private String abortReason; // 입력 형식이 깨져서 중단한 이유 (완료되면 null)
+    private double seconds;
+    private double rowsPerSecond;
+    private List<RowError> errors;
+
+    /**
+     * 실패한 행
+     *
+     * @param row  1부터 시작하는 행 번호 (CSV 헤더 제외)
+     * @param line 입력에서 행이 시작하는 줄
+     */
+    public record RowError(long row, int line, String sku, String message) {}
+}
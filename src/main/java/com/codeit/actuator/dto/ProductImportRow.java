@@ -0,0 +1,39 @@
+package com.codeit.actuator.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 상품 일괄 등록/수정 행 (sku 기준 upsert)
+ * 검증 규칙은 ProductRequest 와 같고, description 이 비어 있으면 기존 설명을 유지합니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProductImportRow {
+
+    @NotBlank(message = "sku는 필수입니다")
+    @Size(max = 64, message = "sku는 64자를 초과할 수 없습니다")
+    private String sku;
+
+    @NotBlank(message = "상품명은 필수입니다")
+    @Size(min = 2, max = 100, message = "상품명은 2-100자여야 합니다")
+    private String name;
+
+    @Size(max = 500, message = "설명은 500자를 초과할 수 없습니다")
+    private String description;
+
+    @NotNull(message = "가격은 필수입니다")
+    @Min(value = 0, message = "가격은 0원 이상이어야 합니다")
+    private Integer price;
+
+    @NotNull(message = "재고는 필수입니다")
+    @Min(value = 0, message = "재고는 0개 이상이어야 합니다")
+    private Integer stock;
+
+    @NotBlank(message = "카테고리는 필수입니다")
+    @Size(max = 50, message = "카테고리는 50자를 초과할 수 없습니다")
+    private String category;
+}
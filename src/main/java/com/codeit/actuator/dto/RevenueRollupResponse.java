@@ -0,0 +1,27 @@
+package com.codeit.actuator.dto;
+
+import com.codeit.actuator.domain.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 매출/주문 집계 응답 DTO
+ */
+@Getter
+@AllArgsConstructor
+public class RevenueRollupResponse {
+
+    private Map<String, Rollup> byCategory;   // 취소 제외 순매출
+    private Map<LocalDate, Rollup> byDay;     // 취소 제외 순매출 (주문 생성일 기준)
+    private Map<OrderStatus, Rollup> byStatus; // 현재 상태별 주문
+    private LocalDateTime rebuiltAt;
+
+    /**
+     * 집계 값
+     */
+    public record Rollup(long orders, long revenue) {}
+}
@@ -0,0 +1,43 @@
+package com.codeit.actuator.event;
+
+import com.codeit.actuator.domain.OrderStatus;
+import com.codeit.actuator.dto.OrderResponse;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 주문 상태 변경 이벤트
+ * OrderService 트랜잭션 안에서 발행되고, 리스너는 커밋 이후(AFTER_COMMIT)에 처리합니다.
+ *
+ * @param type              이벤트 종류
+ * @param previousStatus    변경 전 상태 (생성 시 null)
+ * @param order             변경 후 주문 스냅샷
+ * @param revenueByCategory 주문 항목의 카테고리별 금액
+ * @param transactionId     이벤트를 발행한 DB 트랜잭션 id (집계 재생성 스냅샷에 이미 포함됐는지 판단용)
+ */
+public record OrderEvent(
+        Type type,
+        OrderStatus previousStatus,
+        OrderResponse order,
+        Map<String, Long> revenueByCategory,
+        long transactionId
+) {
+
+    public static OrderEvent of(Type type, OrderStatus previousStatus, OrderResponse order, long transactionId) {
+        Map<String, Long> revenueByCategory = new TreeMap<>();
+        for (OrderResponse.Item item : order.getItems()) {
+            revenueByCategory.merge(item.getCategory(), (long) item.getAmount(), Long::sum);
+        }
+        return new OrderEvent(type, previousStatus, order, revenueByCategory, transactionId);
+    }
+
+    public enum Type {
+        CREATED,
+        PAID,
+        CONFIRMED,
+        SHIPPED,
+        DELIVERED,
+        CANCELLED
+    }
+}
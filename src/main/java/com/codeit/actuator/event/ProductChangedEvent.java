@@ -0,0 +1,36 @@
+package com.codeit.actuator.event;
+
+/**
+ * 상품 변경 이벤트 (등록/수정/삭제/재고 변경)
+ * 변경 전후 카테고리와 재고를 함께 전달해서 리스너가 차이만 반영할 수 있게 합니다.
+ * 등록 시 이전 값, 삭제 시 이후 값은 null 입니다.
+ *
+ * @param productId        상품 ID
+ * @param previousCategory 변경 전 카테고리
+ * @param previousStock    변경 전 재고
+ * @param category         변경 후 카테고리
+ * @param stock            변경 후 재고
+ * @param transactionId    이벤트를 발행한 DB 트랜잭션 id (재고 게이지 보정 스냅샷에 이미 포함됐는지 판단용)
+ */
+public record ProductChangedEvent(
+        Long productId,
+        String previousCategory,
+        Integer previousStock,
+        String category,
+        Integer stock,
+        long transactionId
+) {
+
+    public static ProductChangedEvent created(Long productId, String category, int stock, long transactionId) {
+        return new ProductChangedEvent(productId, null, null, category, stock, transactionId);
+    }
+
+    public static ProductChangedEvent deleted(Long productId, String category, int stock, long transactionId) {
+        return new ProductChangedEvent(productId, category, stock, null, null, transactionId);
+    }
+
+    public static ProductChangedEvent stockChanged(Long productId, String category, int previousStock, int stock,
+                                                   long transactionId) {
+        return new ProductChangedEvent(productId, category, previousStock, category, stock, transactionId);
+    }
+}
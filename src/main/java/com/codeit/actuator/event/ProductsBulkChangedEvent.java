@@ -0,0 +1,13 @@
+package com.codeit.actuator.event;
+
+import java.util.List;
+
+/**
+ * 상품 일괄 변경 이벤트 (일괄 등록/수정 배치 하나)
+ * 행마다 변경 전 값을 읽지 않으므로 바뀐 상품 ID 만 전달합니다.
+ * 리스너는 변경 전 카테고리와 재고를 모른다고 보고 처리해야 합니다.
+ *
+ * @param productIds 등록 또는 수정된 상품 ID
+ */
+public record ProductsBulkChangedEvent(List<Long> productIds) {
+}
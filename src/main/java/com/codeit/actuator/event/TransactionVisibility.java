@@ -0,0 +1,74 @@
+package com.codeit.actuator.event;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * DB 트랜잭션 id 와 스냅샷 (PostgreSQL xid8 / pg_snapshot)
+ *
+ * 커밋 이후 리스너로 메모리 집계를 유지하면서 가끔 DB 에서 다시 만드는 경우,
+ * 이벤트에 발행한 트랜잭션 id 를 실어 두면 재생성 스냅샷에 이미 포함된 이벤트인지 판단할 수 있습니다.
+ */
+@Component
+public class TransactionVisibility {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionVisibility(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * 현재 트랜잭션 id (트랜잭션 안에서 호출, 한 트랜잭션에서는 한 번만 조회)
+     */
+    public long currentTransactionId() {
+        Long transactionId = (Long) TransactionSynchronizationManager.getResource(this);
+        if (transactionId == null) {
+            transactionId = jdbcTemplate.queryForObject(
+                    "SELECT CAST(CAST(pg_current_xact_id() AS text) AS bigint)", Long.class);
+            TransactionSynchronizationManager.bindResource(this, transactionId);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TransactionVisibility.this);
+                }
+            });
+        }
+        return transactionId;
+    }
+
+    /**
+     * 현재 트랜잭션 스냅샷 (REPEATABLE READ 트랜잭션의 첫 문장으로 호출해야 이후 쿼리와 같은 스냅샷)
+     */
+    public Snapshot currentSnapshot() {
+        return Snapshot.parse(jdbcTemplate.queryForObject("SELECT CAST(pg_current_snapshot() AS text)", String.class));
+    }
+
+    /**
+     * xmin:xmax:진행 중 id 목록
+     * 커밋된 트랜잭션은 xmin 보다 작거나, xmax 보다 작으면서 진행 중 목록에 없으면 스냅샷에 보임
+     */
+    public record Snapshot(long xmin, long xmax, Set<Long> inProgress) {
+
+        static Snapshot parse(String text) {
+            String[] parts = text.split(":", -1);
+            Set<Long> inProgress = new HashSet<>();
+            if (parts.length > 2 && !parts[2].isEmpty()) {
+                for (String id : parts[2].split(",")) {
+                    inProgress.add(Long.parseLong(id));
+                }
+            }
+            return new Snapshot(Long.parseLong(parts[0]), Long.parseLong(parts[1]), inProgress);
+        }
+
+        public boolean includes(long transactionId) {
+            return transactionId < xmin || (transactionId < xmax && !inProgress.contains(transactionId));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.codeit.actuator.exception;
+
+/**
+ * 동시 처리 한도를 넘어 요청을 거절할 때 발생하는 예외
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String group) {
+        super(String.format("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요. 그룹: %s", group));
+    }
+}
@@ -1,6 +1,7 @@
 package com.codeit.actuator.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -80,6 +82,23 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
     
+    /**
+     * 선택할 수 없는 필드 요청 (fields 파라미터)
+     */
+    @ExceptionHandler(InvalidFieldsException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFields(InvalidFieldsException e) {
+        log.warn("잘못된 필드 선택: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.BAD_REQUEST.value(),
+                "INVALID_FIELDS",
+                e.getMessage(),
+                LocalDateTime.now()
+        );
+        
+        return ResponseEntity.badRequest().body(errorResponse);
+    }
+    
     /**
      * IllegalStateException (비즈니스 로직 예외)
      */
@@ -97,6 +116,99 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errorResponse);
     }
     
+    /**
+     * 같은 멱등성 키의 요청이 처리 중
+     */
+    @ExceptionHandler(IdempotencyKeyInProgressException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyInProgress(IdempotencyKeyInProgressException e) {
+        log.info("멱등성 키 처리 중: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                "IDEMPOTENCY_KEY_IN_PROGRESS",
+                e.getMessage(),
+                LocalDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+    
+    /**
+     * 멱등성 키를 다른 요청에 재사용
+     */
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException e) {
+        log.warn("멱등성 키 재사용: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                "IDEMPOTENCY_KEY_MISMATCH",
+                e.getMessage(),
+                LocalDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+    }
+    
+    /**
+     * 결제 결과 확인 불가 (주문은 결제 대기 상태로 남음)
+     */
+    @ExceptionHandler(PaymentOutcomeUnknownException.class)
+    public ResponseEntity<ErrorResponse> handlePaymentOutcomeUnknown(PaymentOutcomeUnknownException e) {
+        log.warn("결제 결과 확인 불가: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.ACCEPTED.value(),
+                "PAYMENT_OUTCOME_UNKNOWN",
+                e.getMessage(),
+                LocalDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .location(URI.create("/api/orders/" + e.getOrder().getId()))
+                .body(errorResponse);
+    }
+    
+    /**
+     * 동시 처리 한도 초과 (부하 차단)
+     */
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyLimitExceeded(ConcurrencyLimitExceededException e) {
+        log.debug("동시 처리 한도 초과: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "SERVICE_OVERLOADED",
+                e.getMessage(),
+                LocalDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorResponse);
+    }
+    
+    /**
+     * 고객별 요청 한도 초과
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException e) {
+        log.debug("요청 한도 초과: {}", e.getMessage());
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "TOO_MANY_REQUESTS",
+                e.getMessage(),
+                LocalDateTime.now()
+        );
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+    
     /**
      * 예상치 못한 예외
      */
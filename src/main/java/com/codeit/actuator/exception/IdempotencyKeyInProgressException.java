@@ -0,0 +1,11 @@
+package com.codeit.actuator.exception;
+
+/**
+ * 같은 멱등성 키의 요청이 아직 처리 중일 때 발생하는 예외 (409)
+ */
+public class IdempotencyKeyInProgressException extends RuntimeException {
+
+    public IdempotencyKeyInProgressException(String key) {
+        super(String.format("같은 Idempotency-Key 의 요청이 아직 처리 중입니다. 잠시 후 다시 시도해주세요. 키: %s", key));
+    }
+}
@@ -0,0 +1,11 @@
+package com.codeit.actuator.exception;
+
+/**
+ * 이미 쓴 멱등성 키를 다른 요청 본문으로 재사용했을 때 발생하는 예외 (422)
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+
+    public IdempotencyKeyMismatchException(String key) {
+        super(String.format("Idempotency-Key 가 다른 주문 요청에 이미 사용되었습니다. 키: %s", key));
+    }
+}
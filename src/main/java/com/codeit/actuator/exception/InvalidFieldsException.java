@@ -0,0 +1,11 @@
+package com.codeit.actuator.exception;
+
+/**
+ * fields 파라미터에 없는 필드를 요청했을 때 발생하는 예외
+ */
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException(String field) {
+        super(String.format("선택할 수 없는 필드입니다: %s", field));
+    }
+}
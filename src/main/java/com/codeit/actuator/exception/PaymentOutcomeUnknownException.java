@@ -0,0 +1,19 @@
+package com.codeit.actuator.exception;
+
+import com.codeit.actuator.dto.OrderResponse;
+import lombok.Getter;
+
+/**
+ * 결제 결과를 확인하지 못해 주문을 결제 대기 상태로 남겼을 때 발생하는 예외 (202)
+ */
+@Getter
+public class PaymentOutcomeUnknownException extends RuntimeException {
+
+    private final OrderResponse order;
+
+    public PaymentOutcomeUnknownException(OrderResponse order) {
+        super(String.format("결제 결과를 확인하지 못했습니다. 주문은 결제 대기 상태로 남고 확인되지 않으면 만료 시 취소/환불됩니다. 주문번호: %s",
+                order.getOrderNumber()));
+        this.order = order;
+    }
+}
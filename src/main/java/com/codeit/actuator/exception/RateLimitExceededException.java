@@ -0,0 +1,18 @@
+package com.codeit.actuator.exception;
+
+import lombok.Getter;
+
+/**
+ * 고객별 요청 한도를 넘었을 때 발생하는 예외
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String customerEmail, long retryAfterSeconds) {
+        super(String.format("주문 요청이 너무 많습니다. %d초 후 다시 시도해주세요. 고객: %s",
+                retryAfterSeconds, customerEmail));
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
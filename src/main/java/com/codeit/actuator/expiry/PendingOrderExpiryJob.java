@@ -0,0 +1,203 @@
+package com.codeit.actuator.expiry;
+
+import com.codeit.actuator.domain.Order;
+import com.codeit.actuator.domain.OrderStatus;
+import com.codeit.actuator.domain.Product;
+import com.codeit.actuator.dto.OrderResponse;
+import com.codeit.actuator.event.OrderEvent;
+import com.codeit.actuator.event.ProductChangedEvent;
+import com.codeit.actuator.event.TransactionVisibility;
+import com.codeit.actuator.repository.OrderRepository;
+import com.codeit.actuator.repository.ProductQuantityRow;
+import com.codeit.actuator.repository.ProductRepository;
+import com.codeit.actuator.service.PaymentService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 오래된 대기(PENDING) / 결제 대기(AWAITING_PAYMENT) 주문 만료
+ *
+ * 결제 이후 확인되지 않고 오래 남은 주문을 취소하고 잡아 둔 재고를 돌려놓습니다.
+ * 결제 결과를 확인하지 못해 결제 대기로 남은 주문(결제 도중 오류, 인스턴스 종료 포함)도
+ * payment-max-age 가 지나면 같은 방식으로 취소하고 환불을 요청합니다.
+ * 한 트랜잭션에서 일정 개수씩만 처리하고(FOR UPDATE SKIP LOCKED), 재고는 상품별 합계로 한 번에 복구합니다.
+ * 여러 인스턴스가 떠 있어도 PostgreSQL advisory lock 을 잡은 한 곳만 실행하며,
+ * 잠금은 트랜잭션 범위라서 커넥션 풀에 잠금이 남지 않습니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.order-expiry", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class PendingOrderExpiryJob {
+
+    private static final long ADVISORY_LOCK_KEY = 0x4f52445f45585049L; // "ORD_EXPI"
+
+    private final OrderRepository orderRepository;
+    private final ProductRepository productRepository;
+    private final PaymentService paymentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionVisibility transactionVisibility;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration maxAge;
+    private final Duration paymentMaxAge;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+
+    private final Counter expiredCounter;
+    private final Counter refundFailedCounter;
+    private final Counter lockBusyCounter;
+    private final Timer chunkTimer;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public PendingOrderExpiryJob(OrderRepository orderRepository,
+                                 ProductRepository productRepository,
+                                 PaymentService paymentService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 TransactionVisibility transactionVisibility,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.order-expiry.max-age:PT30M}") Duration maxAge,
+                                 @Value("${app.order-expiry.payment-max-age:PT5M}") Duration paymentMaxAge,
+                                 @Value("${app.order-expiry.chunk-size:100}") int chunkSize,
+                                 @Value("${app.order-expiry.max-chunks-per-run:50}") int maxChunksPerRun) {
+        this.orderRepository = orderRepository;
+        this.productRepository = productRepository;
+        this.paymentService = paymentService;
+        this.eventPublisher = eventPublisher;
+        this.transactionVisibility = transactionVisibility;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAge = maxAge;
+        this.paymentMaxAge = paymentMaxAge;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+
+        this.expiredCounter = Counter.builder("orders.expired")
+                .description("Stale PENDING or AWAITING_PAYMENT orders cancelled by the expiry job")
+                .register(meterRegistry);
+        this.refundFailedCounter = Counter.builder("orders.expiry.refund.failed")
+                .description("Refunds that failed for expired orders")
+                .register(meterRegistry);
+        this.lockBusyCounter = Counter.builder("orders.expiry.lock.busy")
+                .description("Expiry runs skipped because another instance holds the lock")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("orders.expiry.chunk")
+                .description("Time to expire one chunk of stale orders")
+                .register(meterRegistry);
+        Gauge.builder("orders.expiry.backlog", backlog, AtomicLong::get)
+                .description("PENDING orders older than the expiry age, as of the last run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.order-expiry.interval:PT1M}",
+            initialDelayString = "${app.order-expiry.initial-delay:PT30S}")
+    public void expire() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime paymentCutoff = now.minus(paymentMaxAge);
+        LocalDateTime cutoff = now.minus(maxAge);
+
+        Integer awaitingPayment = expire(OrderStatus.AWAITING_PAYMENT, paymentCutoff);
+        Integer pending = awaitingPayment != null ? expire(OrderStatus.PENDING, cutoff) : null;
+        if (pending == null) {
+            lockBusyCounter.increment();
+            log.debug("다른 인스턴스에서 주문 만료 작업 실행 중");
+            return;
+        }
+
+        backlog.set(orderRepository.countByStatusAndCreatedAtBefore(OrderStatus.PENDING, cutoff)
+                + orderRepository.countByStatusAndCreatedAtBefore(OrderStatus.AWAITING_PAYMENT, paymentCutoff));
+        if (awaitingPayment + pending > 0) {
+            log.info("대기 주문 만료 완료 - 대기: {}건, 결제 대기: {}건, 남은 대상: {}건", pending, awaitingPayment, backlog.get());
+        }
+    }
+
+    /**
+     * 한 상태의 만료 대상을 묶음 단위로 만료 (잠금을 못 잡으면 null)
+     */
+    private Integer expire(OrderStatus status, LocalDateTime cutoff) {
+        int expired = 0;
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            List<OrderResponse> orders = chunkTimer.record(() -> transactionTemplate.execute(tx -> expireChunk(status, cutoff)));
+            if (orders == null) {
+                return null;
+            }
+            refund(orders);
+            expired += orders.size();
+            if (orders.size() < chunkSize) {
+                break;
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * 한 묶음 만료 (잠금을 못 잡으면 null)
+     */
+    private List<OrderResponse> expireChunk(OrderStatus status, LocalDateTime cutoff) {
+        if (!orderRepository.tryAdvisoryXactLock(ADVISORY_LOCK_KEY)) {
+            return null;
+        }
+
+        List<Long> orderIds = orderRepository.lockExpiredIds(status.name(), cutoff, chunkSize);
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+
+        // 상품별 복구 수량 합계 - 주문 생성/취소와 같은 ID 순서로 상품을 잠근 뒤 한 번에 UPDATE
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (ProductQuantityRow row : orderRepository.sumItemQuantities(orderIds)) {
+            quantities.put(row.getProductId(), row.getQuantity().intValue());
+        }
+        List<Product> products = productRepository.findAllByIdForUpdate(quantities.keySet());
+
+        LocalDateTime now = LocalDateTime.now();
+        productRepository.restoreStock(orderIds, quantities.keySet(), now);
+        orderRepository.cancelExpired(orderIds, status, now);
+
+        long transactionId = transactionVisibility.currentTransactionId();
+        List<OrderResponse> responses = new ArrayList<>(orderIds.size());
+        for (Order order : orderRepository.findByIdIn(orderIds)) {
+            OrderResponse response = OrderResponse.from(order);
+            responses.add(response);
+            eventPublisher.publishEvent(OrderEvent.of(OrderEvent.Type.CANCELLED, status, response, transactionId));
+        }
+        for (Product product : products) {
+            int previousStock = product.getStock();
+            eventPublisher.publishEvent(ProductChangedEvent.stockChanged(
+                    product.getId(), product.getCategory(), previousStock, previousStock + quantities.get(product.getId()),
+                    transactionId));
+        }
+
+        expiredCounter.increment(responses.size());
+        log.debug("주문 만료 - 상태: {}, {}건, 재고 복구 상품: {}종", status, responses.size(), products.size());
+        return responses;
+    }
+
+    /**
+     * 커밋 이후 환불 (외부 호출 동안 행 잠금을 잡고 있지 않도록)
+     */
+    private void refund(List<OrderResponse> orders) {
+        for (OrderResponse order : orders) {
+            if (!paymentService.refund(order.getOrderNumber(), order.getTotalAmount())) {
+                refundFailedCounter.increment();
+                log.warn("만료 주문 환불 실패 - 주문번호: {}", order.getOrderNumber());
+            }
+        }
+    }
+}
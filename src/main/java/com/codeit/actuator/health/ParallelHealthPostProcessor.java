@@ -0,0 +1,76 @@
+package com.codeit.actuator.health;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.availability.AvailabilityStateHealthIndicator;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.PingHealthIndicator;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 헬스 체크 병렬 실행
+ *
+ * HealthIndicator 빈을 {@link TimeBoxedHealthIndicator} 로 감싸서, 헬스 요청 하나에서 검사들이 동시에 실행되고
+ * 각각 제한 시간을 넘지 않도록 합니다. 응답 시간은 검사 시간의 합이 아니라 가장 느린 검사(최대 timeout)가 됩니다.
+ * 메모리 상태만 보는 liveness/readiness 상태와 ping 은 감싸지 않습니다.
+ */
+@Component
+@Slf4j
+public class ParallelHealthPostProcessor implements BeanPostProcessor, DisposableBean {
+
+    private final Duration timeout;
+    private final Duration cacheTtl;
+    private final ExecutorService executor;
+    private final List<TimeBoxedHealthIndicator> indicators = new CopyOnWriteArrayList<>();
+
+    public ParallelHealthPostProcessor(@Value("${app.health.timeout:PT2S}") Duration timeout,
+                                       @Value("${app.health.cache-ttl:PT1S}") Duration cacheTtl) {
+        this.timeout = timeout;
+        this.cacheTtl = cacheTtl;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "health-check-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HealthIndicator indicator
+                && !(bean instanceof TimeBoxedHealthIndicator)
+                && !(bean instanceof AvailabilityStateHealthIndicator)
+                && !(bean instanceof PingHealthIndicator)) {
+            TimeBoxedHealthIndicator timeBoxed = new TimeBoxedHealthIndicator(
+                    beanName, indicator, this, executor, timeout, cacheTtl);
+            indicators.add(timeBoxed);
+            log.debug("헬스 체크 제한 시간 적용 - {} ({}ms)", beanName, timeout.toMillis());
+            return timeBoxed;
+        }
+        return bean;
+    }
+
+    /**
+     * 결과가 오래된 검사를 모두 시작 (기다리지 않음)
+     */
+    void startStale() {
+        for (TimeBoxedHealthIndicator indicator : indicators) {
+            indicator.start();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,162 @@
+package com.codeit.actuator.health;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 포화 시 readiness 자동 전환
+ *
+ * 커넥션 풀에 커넥션을 기다리는 스레드가 생기거나, 동시 처리 한도가 거의 다 찬 상태가 이어지면
+ * readiness 를 REFUSING_TRAFFIC 으로 내려 로드밸런서가 새 요청을 보내지 않게 합니다.
+ * 잠깐의 튐에 흔들리지 않도록 연속 횟수로 전환하고, 종료 중에는 상태를 되돌리지 않습니다.
+ * 다른 주기 작업이 스케줄러 스레드를 오래 잡아도 검사가 밀리지 않도록 전용 스레드에서 실행합니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.health.saturation", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class SaturationReadinessMonitor {
+
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ApplicationAvailability applicationAvailability;
+    private final double poolPendingThreshold;
+    private final double limiterUtilization;
+    private final int tripAfter;
+    private final int recoverAfter;
+
+    private final Counter refusedCounter;
+    private final ScheduledExecutorService scheduler;
+
+    // 아래 필드는 검사 스레드에서만 변경
+    private int saturatedChecks;
+    private int clearChecks;
+    private volatile boolean refusing;
+    private volatile boolean closing;
+
+    public SaturationReadinessMonitor(MeterRegistry meterRegistry,
+                                      ApplicationEventPublisher eventPublisher,
+                                      ApplicationAvailability applicationAvailability,
+                                      @Value("${app.health.saturation.pool-pending-threshold:1}") double poolPendingThreshold,
+                                      @Value("${app.health.saturation.limiter-utilization:0.9}") double limiterUtilization,
+                                      @Value("${app.health.saturation.trip-after:3}") int tripAfter,
+                                      @Value("${app.health.saturation.recover-after:5}") int recoverAfter,
+                                      @Value("${app.health.saturation.check-interval:PT1S}") Duration checkInterval) {
+        this.meterRegistry = meterRegistry;
+        this.eventPublisher = eventPublisher;
+        this.applicationAvailability = applicationAvailability;
+        this.poolPendingThreshold = poolPendingThreshold;
+        this.limiterUtilization = limiterUtilization;
+        this.tripAfter = tripAfter;
+        this.recoverAfter = recoverAfter;
+
+        this.refusedCounter = Counter.builder("health.readiness.refused")
+                .description("Times readiness was turned off because of saturation")
+                .register(meterRegistry);
+        Gauge.builder("health.readiness.saturated", this, monitor -> monitor.refusing ? 1 : 0)
+                .description("1 while readiness is off because of saturation")
+                .register(meterRegistry);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "saturation-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMillis = checkInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::check, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    void check() {
+        try {
+            evaluate();
+        } catch (RuntimeException e) {
+            // 예외가 나가면 이후 검사가 모두 취소되므로 기록만 함
+            log.warn("포화 검사 실패", e);
+        }
+    }
+
+    private void evaluate() {
+        if (closing) {
+            return;
+        }
+
+        String reason = saturationReason();
+        if (reason != null) {
+            clearChecks = 0;
+            if (!refusing && ++saturatedChecks >= tripAfter) {
+                refuse(reason);
+            }
+        } else {
+            saturatedChecks = 0;
+            if (refusing && ++clearChecks >= recoverAfter) {
+                accept();
+            }
+        }
+    }
+
+    /**
+     * 포화 원인 (포화가 아니면 null)
+     */
+    private String saturationReason() {
+        for (Gauge pending : meterRegistry.find("hikaricp.connections.pending").gauges()) {
+            double waiting = pending.value();
+            if (waiting >= poolPendingThreshold) {
+                return "커넥션 풀 " + pending.getId().getTag("pool") + " 대기 스레드 " + (int) waiting;
+            }
+        }
+        for (Gauge limit : meterRegistry.find("concurrency.limit").gauges()) {
+            String group = limit.getId().getTag("group");
+            Gauge inFlight = meterRegistry.find("concurrency.inflight").tag("group", group).gauge();
+            if (inFlight != null && inFlight.value() >= limit.value() * limiterUtilization) {
+                return "동시 처리 한도 " + group + " " + (int) inFlight.value() + "/" + (int) limit.value();
+            }
+        }
+        return null;
+    }
+
+    private void refuse(String reason) {
+        // 아직 시작 중이거나 이미 다른 이유로 내려가 있으면 건드리지 않음
+        if (applicationAvailability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC) {
+            return;
+        }
+        refusing = true;
+        refusedCounter.increment();
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        log.warn("포화 감지 - readiness 해제: {}", reason);
+    }
+
+    private void accept() {
+        refusing = false;
+        clearChecks = 0;
+        if (!closing && applicationAvailability.getReadinessState() == ReadinessState.REFUSING_TRAFFIC) {
+            AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.ACCEPTING_TRAFFIC);
+            log.info("포화 해소 - readiness 복구");
+        }
+    }
+
+    @EventListener
+    public void onContextClosed(ContextClosedEvent event) {
+        closing = true;
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
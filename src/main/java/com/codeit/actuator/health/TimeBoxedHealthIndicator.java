@@ -0,0 +1,121 @@
+package com.codeit.actuator.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 제한 시간이 있는 헬스 체크
+ *
+ * 원래 indicator 는 별도 스레드에서 실행하고, 제한 시간이 지나면 기다리지 않고 DOWN 을 돌려줍니다.
+ * 멈춘 검사가 끝나기 전에는 다시 실행하지 않아서 느린 외부 시스템 때문에 스레드가 쌓이지 않습니다.
+ * 결과는 잠깐 보관해서 한 번의 헬스 요청 안에서 같은 검사를 반복하지 않습니다.
+ */
+public class TimeBoxedHealthIndicator implements HealthIndicator {
+
+    private final String name;
+    private final HealthIndicator delegate;
+    private final ParallelHealthPostProcessor group;
+    private final Executor executor;
+    private final long timeoutNanos;
+    private final long cacheTtlNanos;
+
+    private final AtomicReference<Evaluation> evaluation = new AtomicReference<>();
+    private volatile Health lastHealth;
+    private volatile long lastCheckedNanos;
+
+    TimeBoxedHealthIndicator(String name,
+                             HealthIndicator delegate,
+                             ParallelHealthPostProcessor group,
+                             Executor executor,
+                             Duration timeout,
+                             Duration cacheTtl) {
+        this.name = name;
+        this.delegate = delegate;
+        this.group = group;
+        this.executor = executor;
+        this.timeoutNanos = timeout.toNanos();
+        this.cacheTtlNanos = cacheTtl.toNanos();
+    }
+
+    @Override
+    public Health health() {
+        Health cached = freshHealth();
+        if (cached != null) {
+            return cached;
+        }
+        // 헬스 엔드포인트는 contributor 를 차례로 호출하므로, 첫 호출에서 나머지 검사도 함께 시작
+        group.startStale();
+        return await(start());
+    }
+
+    /**
+     * 보관된 결과가 오래됐으면 검사 시작 (이미 진행 중이면 그 검사를 반환)
+     */
+    Evaluation start() {
+        while (true) {
+            Evaluation current = evaluation.get();
+            if (current != null && (!current.future().isDone() || freshHealth() != null)) {
+                return current;
+            }
+            Evaluation next = new Evaluation(new CompletableFuture<>(), System.nanoTime());
+            if (evaluation.compareAndSet(current, next)) {
+                next.future().whenComplete((health, error) -> {
+                    lastHealth = health;
+                    lastCheckedNanos = System.nanoTime();
+                });
+                try {
+                    executor.execute(() -> next.future().complete(evaluate()));
+                } catch (RejectedExecutionException e) {
+                    next.future().complete(Health.down(e).build());
+                }
+                return next;
+            }
+        }
+    }
+
+    private Health await(Evaluation current) {
+        long remaining = timeoutNanos - (System.nanoTime() - current.startedNanos());
+        return current.future()
+                .thenApply(health -> health)
+                .completeOnTimeout(timedOut(), Math.max(remaining, 0), TimeUnit.NANOSECONDS)
+                .join();
+    }
+
+    private Health evaluate() {
+        try {
+            Health health = delegate.health();
+            return health != null ? health : Health.unknown().build();
+        } catch (Exception e) {
+            return Health.down(e).build();
+        }
+    }
+
+    private Health freshHealth() {
+        Health health = lastHealth;
+        if (health != null && System.nanoTime() - lastCheckedNanos < cacheTtlNanos) {
+            return health;
+        }
+        return null;
+    }
+
+    private Health timedOut() {
+        return Health.down()
+                .withDetail("error", "health check timed out")
+                .withDetail("timeout", TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + "ms")
+                .build();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    record Evaluation(CompletableFuture<Health> future, long startedNanos) {
+    }
+}
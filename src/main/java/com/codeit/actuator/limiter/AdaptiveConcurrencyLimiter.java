@@ -0,0 +1,141 @@
+package com.codeit.actuator.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 적응형 동시 처리 한도 (Gradient 방식)
+ *
+ * 장기 평균 응답 시간(longRtt)과 최근 응답 시간(shortRtt)의 비율로 한도를 조정합니다.
+ * 최근 지연이 커지면 비율이 1 보다 작아져 한도가 줄고, 회복되면 sqrt(limit) 만큼씩 다시 늘어납니다.
+ * 한도를 넘는 요청은 대기시키지 않고 바로 거절합니다.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private final String group;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final int windowSize;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter rejectedCounter;
+
+    private volatile double limit;
+
+    // 아래 필드는 synchronized(this) 안에서만 변경
+    private double longRttNanos;
+    private long windowRttSum;
+    private int windowCount;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(String group,
+                                      ConcurrencyLimitProperties.Group properties,
+                                      MeterRegistry meterRegistry) {
+        this.group = group;
+        this.minLimit = properties.getMinLimit();
+        this.maxLimit = properties.getMaxLimit();
+        this.smoothing = properties.getSmoothing();
+        this.windowSize = properties.getWindowSize();
+        this.limit = properties.getInitialLimit();
+
+        Gauge.builder("concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("group", group)
+                .register(meterRegistry);
+        Gauge.builder("concurrency.inflight", inFlight, AtomicInteger::get)
+                .description("Requests currently being processed")
+                .tag("group", group)
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("concurrency.rejected")
+                .description("Requests rejected by the concurrency limit")
+                .tag("group", group)
+                .register(meterRegistry);
+    }
+
+    public String getGroup() {
+        return group;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 처리 슬롯 획득 (한도 초과 시 false)
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejectedCounter.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 처리 슬롯 반납 및 응답 시간 샘플 반영
+     *
+     * @param rttNanos 요청 처리 시간
+     */
+    public void release(long rttNanos) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            windowRttSum += rttNanos;
+            windowCount++;
+            windowMaxInFlight = Math.max(windowMaxInFlight, current);
+            if (windowCount >= windowSize) {
+                updateLimit();
+            }
+        }
+    }
+
+    private void updateLimit() {
+        double shortRtt = (double) windowRttSum / windowCount;
+        int maxInFlight = windowMaxInFlight;
+        windowRttSum = 0;
+        windowCount = 0;
+        windowMaxInFlight = 0;
+
+        if (longRttNanos == 0) {
+            longRttNanos = shortRtt;
+            return;
+        }
+        longRttNanos = longRttNanos * 0.95 + shortRtt * 0.05;
+
+        // 최근 응답 시간이 기준선의 절반 아래로 떨어진 경우(예: 느린 의존성 회복) 기준선을 더 빨리 내려서 따라감
+        if (longRttNanos / shortRtt > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        // 한도의 절반도 쓰지 않는 동안은 한도를 늘리지 않음
+        double current = limit;
+        if (maxInFlight < current / 2 && shortRtt <= longRttNanos) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, longRttNanos / shortRtt));
+        double newLimit = current * gradient + Math.sqrt(current);
+        newLimit = current * (1 - smoothing) + newLimit * smoothing;
+        newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+
+        if ((int) newLimit != (int) current) {
+            log.debug("동시 처리 한도 변경 - 그룹: {}, {} -> {}, 최근 응답시간: {}ms",
+                    group, (int) current, (int) newLimit, String.format("%.1f", shortRtt / 1_000_000));
+        }
+        limit = newLimit;
+    }
+}
@@ -0,0 +1,47 @@
+package com.codeit.actuator.limiter;
+
+import com.codeit.actuator.exception.ConcurrencyLimitExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * 엔드포인트 그룹별 동시 처리 한도 적용
+ * 한도를 넘으면 ConcurrencyLimitExceededException 으로 즉시 503 응답합니다.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Set<String> methods;
+    private final String startAttribute;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter, Set<String> methods) {
+        this.limiter = limiter;
+        this.methods = methods;
+        this.startAttribute = ConcurrencyLimitInterceptor.class.getName() + "." + limiter.getGroup();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!methods.contains(request.getMethod()) || request.getAttribute(startAttribute) != null) {
+            return true;
+        }
+        if (!limiter.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException(limiter.getGroup());
+        }
+        request.setAttribute(startAttribute, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Object start = request.getAttribute(startAttribute);
+        if (start != null) {
+            request.removeAttribute(startAttribute);
+            limiter.release(System.nanoTime() - (long) start);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.codeit.actuator.limiter;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 적응형 동시 처리 한도 설정 (app.concurrency-limit.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+    private Group catalogRead = new Group(50, 10, 400);
+    private Group orderWrite = new Group(20, 5, 100);
+
+    @Getter
+    @Setter
+    public static class Group {
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        private double smoothing = 0.2; // 새 한도를 반영하는 비율
+        private int windowSize = 50;    // 한도를 다시 계산하기 위한 최소 샘플 수
+
+        public Group() {
+        }
+
+        public Group(int initialLimit, int minLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+}
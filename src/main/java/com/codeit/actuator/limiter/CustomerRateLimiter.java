@@ -0,0 +1,196 @@
+package com.codeit.actuator.limiter;
+
+import com.codeit.actuator.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 고객(이메일)별 토큰 버킷 요청 제한
+ *
+ * 버킷 상태를 "다음 토큰이 충전되는 이론적 시각"(GCRA) 하나의 long 으로 표현해서
+ * 락 없이 CAS 한 번으로 허용 여부를 결정합니다.
+ * 이 시각이 현재보다 과거인 버킷은 가득 찬 상태와 같으므로 지워도 결과가 달라지지 않고,
+ * 주기적으로 이런 버킷을 정리해서 메모리를 제한합니다.
+ * 정리할 버킷은 먼저 CAS 로 폐기 표시를 해서, 확인과 제거 사이에 들어온 요청이 지워질 버킷의 토큰을 쓰지 못하게 합니다.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+@Slf4j
+public class CustomerRateLimiter {
+
+    private final RateLimitProperties properties;
+    private final Map<String, TierLimit> tiers = new HashMap<>();
+    private final Map<String, String> customerTiers = new HashMap<>(); // 소문자 이메일 -> 등급
+    private final TierLimit defaultTier;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public CustomerRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        properties.getTiers().forEach((name, tier) -> tiers.put(name, new TierLimit(name, tier, meterRegistry)));
+        // 요청의 이메일은 소문자로 바꿔 찾으므로 설정의 이메일도 소문자로 맞춤
+        properties.getCustomers().forEach((email, tier) -> customerTiers.put(email.toLowerCase(Locale.ROOT), tier));
+
+        this.defaultTier = tiers.get(properties.getDefaultTier());
+        if (defaultTier == null) {
+            throw new IllegalStateException("기본 등급 설정이 없습니다: " + properties.getDefaultTier());
+        }
+
+        Gauge.builder("ratelimit.keys", buckets, Map::size)
+                .description("Number of customers with an active rate limit bucket")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 요청 1건 허용 여부 확인 (초과 시 RateLimitExceededException)
+     */
+    public void acquire(String customerEmail) {
+        long waitNanos = tryAcquire(customerEmail);
+        if (waitNanos > 0) {
+            throw new RateLimitExceededException(customerEmail,
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999)));
+        }
+    }
+
+    /**
+     * 요청 1건 허용 여부 확인 (예외 없이)
+     *
+     * @return 0 이면 허용, 양수면 다시 시도할 수 있을 때까지 남은 시간(ns)
+     */
+    public long tryAcquire(String customerEmail) {
+        if (!properties.isEnabled()) {
+            return 0;
+        }
+
+        String key = customerEmail.toLowerCase(Locale.ROOT);
+        long now = System.nanoTime();
+        long waitNanos;
+        while (true) {
+            Bucket bucket = bucket(key);
+            waitNanos = bucket.tryAcquire(now);
+            if (waitNanos != Bucket.RETIRED) {
+                break;
+            }
+            // 정리 중인 버킷 - 제거를 돕고 새 버킷으로 다시 시도
+            buckets.remove(key, bucket);
+        }
+        return waitNanos;
+    }
+
+    /**
+     * 가득 찬(한동안 요청이 없던) 버킷 정리
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval:PT1M}")
+    public void sweep() {
+        long now = System.nanoTime();
+        int before = buckets.size();
+        buckets.forEach((key, bucket) -> {
+            if (bucket.retireIfFull(now)) {
+                buckets.remove(key, bucket);
+            }
+        });
+        log.debug("요청 제한 버킷 정리 - {}개 -> {}개", before, buckets.size());
+    }
+
+    private Bucket bucket(String key) {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+
+        TierLimit tier = tiers.getOrDefault(
+                customerTiers.getOrDefault(key, properties.getDefaultTier()), defaultTier);
+
+        // 최대 개수를 넘으면 새 고객은 등급별 공용 버킷을 함께 사용
+        if (buckets.size() >= properties.getMaxKeys()) {
+            return tier.overflow;
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(tier));
+    }
+
+    /**
+     * 등급별 설정 (토큰 간격, 순간 허용량) 과 메트릭
+     */
+    private static final class TierLimit {
+        final long emissionNanos;  // 토큰 1개가 충전되는 시간
+        final long burstNanos;     // 버킷 크기만큼의 시간
+        final Counter allowed;
+        final Counter rejected;
+        final Bucket overflow;
+
+        TierLimit(String name, RateLimitProperties.Tier tier, MeterRegistry meterRegistry) {
+            this.emissionNanos = (long) (TimeUnit.SECONDS.toNanos(1) / tier.getRefillPerSecond());
+            this.burstNanos = emissionNanos * tier.getCapacity();
+            this.allowed = Counter.builder("ratelimit.decisions")
+                    .description("Rate limit decisions for order creation")
+                    .tag("tier", name)
+                    .tag("result", "allowed")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("ratelimit.decisions")
+                    .description("Rate limit decisions for order creation")
+                    .tag("tier", name)
+                    .tag("result", "rejected")
+                    .register(meterRegistry);
+            this.overflow = new Bucket(this);
+        }
+    }
+
+    /**
+     * 토큰 버킷 (GCRA)
+     */
+    private static final class Bucket {
+        // 폐기 표시 (theoreticalArrival 값이자 tryAcquire 의 반환값)
+        static final long RETIRED = Long.MAX_VALUE;
+
+        private final TierLimit tier;
+        private final AtomicLong theoreticalArrival = new AtomicLong(Long.MIN_VALUE);
+
+        Bucket(TierLimit tier) {
+            this.tier = tier;
+        }
+
+        /**
+         * @return 0 이면 허용, RETIRED 면 정리된 버킷이므로 새 버킷으로 다시 시도,
+         *         그 외 양수면 다시 시도할 수 있을 때까지 남은 시간(ns)
+         */
+        long tryAcquire(long now) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                if (current == RETIRED) {
+                    return RETIRED;
+                }
+                long base = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+                long next = base + tier.emissionNanos;
+                long wait = next - now - tier.burstNanos;
+                if (wait > 0) {
+                    tier.rejected.increment();
+                    return wait;
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    tier.allowed.increment();
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * 가득 찬 버킷이면 폐기 표시 (표시에 성공한 경우에만 map 에서 제거)
+         */
+        boolean retireIfFull(long now) {
+            long current = theoreticalArrival.get();
+            boolean full = current == Long.MIN_VALUE || (current != RETIRED && current - now <= 0);
+            return full && theoreticalArrival.compareAndSet(current, RETIRED);
+        }
+    }
+}
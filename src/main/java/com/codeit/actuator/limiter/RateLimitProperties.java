@@ -0,0 +1,32 @@
+package com.codeit.actuator.limiter;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 고객별 주문 요청 한도 설정 (app.rate-limit.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int maxKeys = 100_000;                      // 메모리에 유지할 최대 고객 수
+    private Duration sweepInterval = Duration.ofMinutes(1);
+    private String defaultTier = "standard";
+    private Map<String, Tier> tiers = new HashMap<>(Map.of("standard", new Tier()));
+    private Map<String, String> customers = new HashMap<>(); // 이메일 -> 등급 (대소문자 구분 없음)
+
+    @Getter
+    @Setter
+    public static class Tier {
+        private int capacity = 10;            // 순간 허용량 (버킷 크기)
+        private double refillPerSecond = 1.0; // 초당 충전량
+    }
+}
@@ -0,0 +1,151 @@
+package com.codeit.actuator.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.config.MeterFilterReply;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 메트릭 태그 수 제한
+ *
+ * 메트릭 이름마다 시리즈(태그 조합) 수와 지정한 태그(주문 상태, 카테고리 등)의 값 개수를 세고,
+ * 한도를 넘는 새 시리즈는 등록하지 않습니다. 사용자 입력이 태그로 들어가도 메모리와 스크레이프 크기가 늘지 않습니다.
+ * 버린 시리즈는 태그 조합별로 한 번만 metrics.series.dropped{meter} 에 셉니다 (같은 조합의 재등록 시도는 세지 않음).
+ * 메트릭이 레지스트리에서 제거되면 그 시리즈와 태그 값 자리를 돌려줍니다.
+ * 다른 필터가 태그를 바꾼 뒤의 ID 로 세도록 마지막 필터로 등록해야 합니다.
+ */
+@Slf4j
+public class CardinalityLimitMeterFilter implements MeterFilter, MeterBinder {
+
+    static final String DROPPED_METER = "metrics.series.dropped";
+
+    private final int maxSeriesPerMeter;
+    private final Map<String, Integer> tagLimits;
+    private final Map<String, MeterSeries> meters = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> dropped = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public CardinalityLimitMeterFilter(int maxSeriesPerMeter, Map<String, Integer> tagLimits) {
+        this.maxSeriesPerMeter = maxSeriesPerMeter;
+        this.tagLimits = Map.copyOf(tagLimits);
+    }
+
+    @Override
+    public MeterFilterReply accept(Meter.Id id) {
+        if (DROPPED_METER.equals(id.getName())) {
+            return MeterFilterReply.NEUTRAL;
+        }
+        MeterSeries series = meters.computeIfAbsent(id.getName(), name -> new MeterSeries());
+        if (series.admit(id.getTags())) {
+            return MeterFilterReply.NEUTRAL;
+        }
+        if (series.recordDenied(id.getTags())) {
+            drop(id);
+        }
+        return MeterFilterReply.DENY;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        registry.config().onMeterRemoved(this::release);
+        dropped.forEach((meter, count) -> registerDropped(registry, meter, count));
+    }
+
+    private void release(Meter meter) {
+        MeterSeries series = meters.get(meter.getId().getName());
+        if (series != null) {
+            series.release(meter.getId().getTags());
+        }
+    }
+
+    private void drop(Meter.Id id) {
+        dropped.computeIfAbsent(id.getName(), meter -> {
+            log.warn("메트릭 태그 수 한도 초과 - {} 의 새 시리즈를 버립니다 (태그: {})", meter, id.getTags());
+            AtomicLong count = new AtomicLong();
+            MeterRegistry target = registry;
+            if (target != null) {
+                // 등록 중인 레지스트리 잠금 안에서 호출될 수 있으므로 다른 스레드에서 등록
+                CompletableFuture.runAsync(() -> registerDropped(target, meter, count));
+            }
+            return count;
+        }).incrementAndGet();
+    }
+
+    private static void registerDropped(MeterRegistry registry, String meter, AtomicLong count) {
+        FunctionCounter.builder(DROPPED_METER, count, AtomicLong::get)
+                .description("Meter registrations denied by the tag cardinality limit")
+                .tag("meter", meter)
+                .register(registry);
+    }
+
+    /**
+     * 메트릭 이름 하나의 시리즈, 태그 값별 시리즈 수, 버린 태그 조합
+     * 버린 조합은 max-series-per-meter 개까지만 기억하고 그 뒤로 새 조합은 세지 않음 (메모리 상한)
+     */
+    private class MeterSeries {
+
+        private final Set<List<Tag>> series = new HashSet<>();
+        private final Map<String, Map<String, Integer>> valuesByTag = new HashMap<>();
+        private final Set<List<Tag>> denied = new HashSet<>();
+
+        synchronized boolean admit(List<Tag> tags) {
+            if (series.contains(tags)) {
+                return true;
+            }
+            if (series.size() >= maxSeriesPerMeter) {
+                return false;
+            }
+            for (Tag tag : tags) {
+                Integer limit = tagLimits.get(tag.getKey());
+                if (limit == null) {
+                    continue;
+                }
+                Map<String, Integer> values = valuesByTag.get(tag.getKey());
+                if (values != null && !values.containsKey(tag.getValue()) && values.size() >= limit) {
+                    return false;
+                }
+            }
+            for (Tag tag : tags) {
+                if (tagLimits.containsKey(tag.getKey())) {
+                    valuesByTag.computeIfAbsent(tag.getKey(), key -> new HashMap<>()).merge(tag.getValue(), 1, Integer::sum);
+                }
+            }
+            series.add(tags);
+            denied.remove(tags);
+            return true;
+        }
+
+        /**
+         * 처음 버리는 태그 조합이면 true
+         */
+        synchronized boolean recordDenied(List<Tag> tags) {
+            return denied.size() < maxSeriesPerMeter && denied.add(tags);
+        }
+
+        synchronized void release(List<Tag> tags) {
+            if (!series.remove(tags)) {
+                return;
+            }
+            for (Tag tag : tags) {
+                Map<String, Integer> values = valuesByTag.get(tag.getKey());
+                if (values != null) {
+                    values.computeIfPresent(tag.getValue(), (value, count) -> count > 1 ? count - 1 : null);
+                }
+            }
+        }
+    }
+}
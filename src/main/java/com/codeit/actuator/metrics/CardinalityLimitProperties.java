@@ -0,0 +1,21 @@
+package com.codeit.actuator.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 메트릭 태그 수 제한 설정 (app.metrics.cardinality.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.metrics.cardinality")
+public class CardinalityLimitProperties {
+
+    private boolean enabled = true;
+    private int maxSeriesPerMeter = 1000;                 // 메트릭 이름 하나당 최대 시리즈(태그 조합) 수
+    private Map<String, Integer> tagLimits = new HashMap<>(); // 태그 키 -> 메트릭 하나에서 허용할 값 개수
+}
@@ -0,0 +1,231 @@
+package com.codeit.actuator.metrics;
+
+import com.codeit.actuator.event.ProductChangedEvent;
+import com.codeit.actuator.event.ProductsBulkChangedEvent;
+import com.codeit.actuator.event.TransactionVisibility;
+import com.codeit.actuator.event.TransactionVisibility.Snapshot;
+import com.codeit.actuator.repository.InventoryRow;
+import com.codeit.actuator.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 재고 게이지
+ *
+ * 카테고리별 총 재고, 품절 SKU 수, 재고 부족 SKU 수를 메모리 카운터로 유지합니다.
+ * 상품 변경이 커밋될 때마다 차이만 반영하므로 스크레이프 시 DB 를 조회하지 않고,
+ * 주기적으로 DB 와 비교해서 어긋난 값을 보정합니다.
+ *
+ * 보정은 한 스냅샷(REPEATABLE READ)에서 집계한 값으로 맞추고 그 스냅샷을 기억해 둡니다.
+ * 스냅샷에 이미 포함된 변경 이벤트는 반영하지 않고, 집계 도중 반영한 이벤트 중 스냅샷에 없는 것은 보정 후 다시 반영합니다.
+ */
+@Component
+@Slf4j
+public class InventoryMetrics {
+
+    private final ProductRepository productRepository;
+    private final TransactionVisibility transactionVisibility;
+    private final TransactionTemplate snapshotTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int lowStockThreshold;
+
+    private final Map<String, LongAdder> stockByCategory = new ConcurrentHashMap<>();
+    private final LongAdder outOfStock = new LongAdder();
+    private final LongAdder lowStock = new LongAdder();
+    private final AtomicBoolean bulkResyncPending = new AtomicBoolean();
+
+    // 변경 반영(read)은 동시에, 보정 값 적용(write)은 단독으로 수행
+    private final ReadWriteLock resyncLock = new ReentrantReadWriteLock();
+    // 마지막 보정에 쓴 스냅샷 (보정 전에는 null)
+    private volatile Snapshot resyncedFrom;
+    // 보정 집계가 도는 동안 반영한 이벤트 (보정 중이 아니면 null)
+    private volatile Queue<ProductChangedEvent> receivedDuringResync;
+
+    public InventoryMetrics(ProductRepository productRepository,
+                            TransactionVisibility transactionVisibility,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.inventory.low-stock-threshold:5}") int lowStockThreshold) {
+        this.productRepository = productRepository;
+        this.transactionVisibility = transactionVisibility;
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.meterRegistry = meterRegistry;
+        this.lowStockThreshold = lowStockThreshold;
+
+        Gauge.builder("inventory.skus.out.of.stock", outOfStock, LongAdder::sum)
+                .description("Number of products with no stock")
+                .register(meterRegistry);
+        Gauge.builder("inventory.skus.low.stock", lowStock, LongAdder::sum)
+                .description("Number of products at or below the low-stock threshold")
+                .tag("threshold", String.valueOf(lowStockThreshold))
+                .register(meterRegistry);
+    }
+
+    /**
+     * 상품 변경 반영 (커밋 이후)
+     */
+    @TransactionalEventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        resyncLock.readLock().lock();
+        try {
+            Snapshot snapshot = resyncedFrom;
+            if (snapshot != null && snapshot.includes(event.transactionId())) {
+                return;
+            }
+            apply(event);
+
+            Queue<ProductChangedEvent> received = receivedDuringResync;
+            if (received != null) {
+                received.add(event);
+            }
+        } finally {
+            resyncLock.readLock().unlock();
+        }
+    }
+
+    private void apply(ProductChangedEvent event) {
+        if (event.previousCategory() != null) {
+            apply(event.previousCategory(), event.previousStock(), -1);
+        }
+        if (event.category() != null) {
+            apply(event.category(), event.stock(), 1);
+        }
+    }
+
+    /**
+     * 상품 일괄 변경 반영 (커밋 이후)
+     * 변경 전 값을 모르므로 차이를 더하지 않고, 잠시 뒤 DB 기준으로 한 번 보정 (배치가 이어져도 모아서 한 번)
+     */
+    @TransactionalEventListener
+    public void onProductsBulkChanged(ProductsBulkChangedEvent event) {
+        bulkResyncPending.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.bulk-resync-delay:PT1S}")
+    public void resyncAfterBulkChange() {
+        if (bulkResyncPending.getAndSet(false)) {
+            resync();
+        }
+    }
+
+    /**
+     * 애플리케이션 시작 시 DB 기준으로 초기화
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        resync();
+    }
+
+    /**
+     * DB 기준으로 게이지 보정
+     * 집계 쿼리는 잠금 없이 실행하고, 집계 값으로 맞춘 뒤 집계 도중 반영한 이벤트 중 스냅샷에 없는 것만 다시 더합니다.
+     */
+    @Scheduled(fixedDelayString = "${app.inventory.resync-interval:PT1M}",
+            initialDelayString = "${app.inventory.resync-interval:PT1M}")
+    public synchronized void resync() {
+        Queue<ProductChangedEvent> received = new ConcurrentLinkedQueue<>();
+        setReceivedDuringResync(received);
+        Loaded loaded;
+        try {
+            loaded = snapshotTemplate.execute(status -> new Loaded(
+                    // 트랜잭션의 첫 문장에서 스냅샷이 정해지므로 스냅샷부터 조회
+                    transactionVisibility.currentSnapshot(),
+                    productRepository.aggregateInventory(lowStockThreshold)));
+        } catch (RuntimeException e) {
+            setReceivedDuringResync(null);
+            throw e;
+        }
+
+        Map<String, Long> totals = new HashMap<>();
+        long outOfStockTotal = 0;
+        long lowStockTotal = 0;
+        for (InventoryRow row : loaded.rows()) {
+            totals.put(row.getCategory(), row.getTotalStock());
+            outOfStockTotal += row.getOutOfStock();
+            lowStockTotal += row.getLowStock();
+        }
+
+        resyncLock.writeLock().lock();
+        try {
+            receivedDuringResync = null;
+            totals.forEach((category, total) -> categoryStock(category));
+            Map<String, Long> before = new HashMap<>();
+            stockByCategory.forEach((category, adder) -> {
+                before.put(category, adder.sum());
+                adder.add(totals.getOrDefault(category, 0L) - adder.sum());
+            });
+            outOfStock.add(outOfStockTotal - outOfStock.sum());
+            lowStock.add(lowStockTotal - lowStock.sum());
+
+            for (ProductChangedEvent event : received) {
+                if (!loaded.snapshot().includes(event.transactionId())) {
+                    apply(event);
+                }
+            }
+            resyncedFrom = loaded.snapshot();
+
+            stockByCategory.forEach((category, adder) -> {
+                long drift = adder.sum() - before.getOrDefault(category, 0L);
+                if (drift != 0) {
+                    log.debug("재고 게이지 보정 - 카테고리: {}, 차이: {}", category, drift);
+                }
+            });
+        } finally {
+            resyncLock.writeLock().unlock();
+        }
+    }
+
+    private void setReceivedDuringResync(Queue<ProductChangedEvent> received) {
+        resyncLock.writeLock().lock();
+        try {
+            receivedDuringResync = received;
+        } finally {
+            resyncLock.writeLock().unlock();
+        }
+    }
+
+    private void apply(String category, int stock, int sign) {
+        categoryStock(category).add((long) sign * stock);
+        if (stock == 0) {
+            outOfStock.add(sign);
+        } else if (stock <= lowStockThreshold) {
+            lowStock.add(sign);
+        }
+    }
+
+    private record Loaded(Snapshot snapshot, List<InventoryRow> rows) {
+    }
+
+    private LongAdder categoryStock(String category) {
+        return stockByCategory.computeIfAbsent(category, c -> {
+            LongAdder adder = new LongAdder();
+            Gauge.builder("inventory.stock", adder, LongAdder::sum)
+                    .description("Total stock per category")
+                    .tag("category", c)
+                    .register(meterRegistry);
+            return adder;
+        });
+    }
+}
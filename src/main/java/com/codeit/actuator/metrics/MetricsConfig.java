@@ -0,0 +1,23 @@
+package com.codeit.actuator.metrics;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * 메트릭 레지스트리 설정
+ */
+@Configuration
+@EnableConfigurationProperties(CardinalityLimitProperties.class)
+public class MetricsConfig {
+
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE) // 공통 태그 등 다른 필터가 바꾼 최종 ID 로 셈
+    @ConditionalOnProperty(prefix = "app.metrics.cardinality", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CardinalityLimitMeterFilter cardinalityLimitMeterFilter(CardinalityLimitProperties properties) {
+        return new CardinalityLimitMeterFilter(properties.getMaxSeriesPerMeter(), properties.getTagLimits());
+    }
+}
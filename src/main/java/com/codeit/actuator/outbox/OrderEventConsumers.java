@@ -0,0 +1,62 @@
+package com.codeit.actuator.outbox;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이벤트 로그 소비자별 위치와 지연(lag) 메트릭
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.outbox.relay", name = "enabled", havingValue = "true")
+public class OrderEventConsumers {
+
+    private static final int MAX_CONSUMERS = 100; // 소비자 이름으로 메트릭이 무한히 늘지 않도록 제한
+
+    private final OrderEventLog orderEventLog;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicLong> positions = new ConcurrentHashMap<>();
+
+    public OrderEventConsumers(OrderEventLog orderEventLog, MeterRegistry meterRegistry) {
+        this.orderEventLog = orderEventLog;
+        this.meterRegistry = meterRegistry;
+
+        Gauge.builder("orders.events.log.end.offset", orderEventLog, OrderEventLog::getEndOffset)
+                .description("Next offset to be written to the order event log")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 소비자가 읽은 다음 위치 기록
+     */
+    public void commit(String consumer, long nextOffset) {
+        AtomicLong position = positions.get(consumer);
+        if (position == null) {
+            if (positions.size() >= MAX_CONSUMERS) {
+                throw new IllegalStateException("등록할 수 있는 소비자 수를 초과했습니다");
+            }
+            position = positions.computeIfAbsent(consumer, this::register);
+        }
+        position.accumulateAndGet(nextOffset, Math::max);
+    }
+
+    public Map<String, Long> lags() {
+        Map<String, Long> lags = new ConcurrentHashMap<>();
+        positions.forEach((consumer, position) -> lags.put(consumer, orderEventLog.getEndOffset() - position.get()));
+        return lags;
+    }
+
+    private AtomicLong register(String consumer) {
+        AtomicLong position = new AtomicLong();
+        Gauge.builder("orders.events.consumer.lag", position, p -> orderEventLog.getEndOffset() - p.get())
+                .description("Records between the consumer position and the end of the order event log")
+                .tag("consumer", consumer)
+                .register(meterRegistry);
+        return position;
+    }
+}
@@ -0,0 +1,295 @@
+package com.codeit.actuator.outbox;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * 주문 이벤트 로그 (메모리 매핑 append-only 세그먼트 파일)
+ *
+ * 레코드 형식: [payload 길이 int][offset long][outbox id long][payload]
+ * 세그먼트 파일 이름은 첫 레코드의 offset 이고, 가득 차면 다음 세그먼트를 만듭니다.
+ * 길이는 나머지를 모두 쓴 뒤 마지막에 기록하므로, 중간에 종료되어도 길이가 0 인 지점이 로그의 끝입니다.
+ * 읽기는 매핑된 버퍼의 slice 를 그대로 돌려주므로 복사가 없습니다.
+ * 새 세그먼트를 만들 때 가장 최근 retained-segments 개만 남기고 오래된 세그먼트 파일은 지웁니다
+ * (소비자가 지워진 offset 을 요청하면 남아 있는 첫 offset 부터 읽음).
+ * 릴레이가 켜진 인스턴스에서만 로그를 엽니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.outbox.relay", name = "enabled", havingValue = "true")
+@Slf4j
+public class OrderEventLog {
+
+    private static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Long.BYTES;
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int retainedSegments;
+
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private Segment active;          // append 는 synchronized 안에서만
+    private long lastOutboxId;
+    private volatile long endOffset; // 다음에 기록할 offset
+
+    public OrderEventLog(@Value("${app.outbox.log.directory:./data/order-events}") Path directory,
+                         @Value("${app.outbox.log.segment-size:67108864}") int segmentSize,
+                         @Value("${app.outbox.log.retained-segments:16}") int retainedSegments) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.retainedSegments = Math.max(1, retainedSegments);
+    }
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segmentFiles = files
+                    .filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+            for (Path file : segmentFiles) {
+                String name = file.getFileName().toString();
+                long baseOffset = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                Segment segment = new Segment(file, baseOffset, segmentSize);
+                lastOutboxId = Math.max(lastOutboxId, segment.recover());
+                segments.put(baseOffset, segment);
+                active = segment;
+            }
+        }
+        if (active == null) {
+            active = createSegment(0);
+        }
+        endOffset = active.baseOffset + active.count;
+
+        log.info("주문 이벤트 로그 열기 - 경로: {}, 세그먼트: {}개, 끝 offset: {}", directory, segments.size(), endOffset);
+    }
+
+    /**
+     * 레코드 추가
+     *
+     * @return 기록된 offset
+     */
+    public synchronized long append(long outboxId, byte[] payload) {
+        if (payload.length == 0 || HEADER_SIZE + payload.length > segmentSize) {
+            throw new IllegalArgumentException("이벤트 크기가 세그먼트 범위를 벗어납니다: " + payload.length);
+        }
+        if (!active.hasRoom(payload.length)) {
+            active.force();
+            active = createSegment(endOffset);
+            deleteOldSegments();
+        }
+        long offset = endOffset;
+        active.append(offset, outboxId, payload);
+        lastOutboxId = outboxId;
+        endOffset = offset + 1;
+        return offset;
+    }
+
+    /**
+     * 디스크에 반영
+     */
+    public synchronized void flush() {
+        active.force();
+    }
+
+    /**
+     * 마지막으로 기록한 아웃박스 ID (릴레이 재시작 시 중복 기록 방지)
+     */
+    public synchronized long getLastOutboxId() {
+        return lastOutboxId;
+    }
+
+    public long getStartOffset() {
+        return segments.firstKey();
+    }
+
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * offset 부터 최대 maxRecords 개 읽기
+     * 반환되는 payload 는 매핑된 파일의 읽기 전용 view 입니다.
+     */
+    public List<Record> read(long offset, int maxRecords) {
+        List<Record> records = new ArrayList<>(Math.min(maxRecords, 256));
+        long end = endOffset;
+        long next = Math.max(offset, getStartOffset());
+
+        while (next < end && records.size() < maxRecords) {
+            Map.Entry<Long, Segment> entry = segments.floorEntry(next);
+            if (entry == null) {
+                // 읽는 도중 오래된 세그먼트가 지워짐
+                next = getStartOffset();
+                continue;
+            }
+            Segment segment = entry.getValue();
+            int index = (int) (next - segment.baseOffset);
+            if (index >= segment.count) {
+                // 이 세그먼트는 끝났으므로 다음 세그먼트부터
+                Long following = segments.higherKey(segment.baseOffset);
+                if (following == null) {
+                    break;
+                }
+                next = following;
+                continue;
+            }
+            records.add(segment.read(index));
+            next++;
+        }
+        return records;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        segments.values().forEach(Segment::close);
+    }
+
+    /**
+     * 보관 개수를 넘는 오래된 세그먼트 삭제 (이미 읽어 간 slice 는 매핑이 남아 있어 계속 유효)
+     */
+    private void deleteOldSegments() {
+        while (segments.size() > retainedSegments) {
+            Map.Entry<Long, Segment> oldest = segments.pollFirstEntry();
+            Segment segment = oldest.getValue();
+            segment.close();
+            try {
+                Files.deleteIfExists(segment.file);
+                log.info("주문 이벤트 로그 세그먼트 삭제 - {}", segment.file);
+            } catch (IOException e) {
+                log.warn("세그먼트 파일 삭제 실패 - {}", segment.file, e);
+            }
+        }
+    }
+
+    private Segment createSegment(long baseOffset) {
+        Path file = directory.resolve(String.format("%020d%s", baseOffset, SUFFIX));
+        try {
+            Segment segment = new Segment(file, baseOffset, segmentSize);
+            segments.put(baseOffset, segment);
+            log.info("주문 이벤트 로그 세그먼트 생성 - {}", file);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 로그 레코드 (payload 는 복사하지 않은 view)
+     */
+    public record Record(long offset, long outboxId, ByteBuffer payload) {}
+
+    /**
+     * 세그먼트 파일 하나
+     */
+    private static final class Segment {
+        final Path file;
+        final long baseOffset;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+
+        int[] positions = new int[1024]; // 레코드 index -> 파일 내 위치
+        volatile int count;              // count 를 나중에 써서 positions 를 읽는 쪽에 공개
+        int writePosition;
+
+        Segment(Path file, long baseOffset, int size) throws IOException {
+            this.file = file;
+            this.baseOffset = baseOffset;
+            this.channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        /**
+         * 기존 레코드를 훑어서 위치 색인 복구
+         *
+         * @return 마지막 레코드의 아웃박스 ID
+         */
+        long recover() {
+            long lastOutboxId = 0;
+            int position = 0;
+            int recovered = 0;
+            while (position + HEADER_SIZE <= buffer.capacity()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || position + HEADER_SIZE + length > buffer.capacity()) {
+                    break;
+                }
+                lastOutboxId = buffer.getLong(position + Integer.BYTES + Long.BYTES);
+                index(recovered++, position);
+                position += HEADER_SIZE + length;
+            }
+            writePosition = position;
+            count = recovered;
+            return lastOutboxId;
+        }
+
+        boolean hasRoom(int payloadLength) {
+            return writePosition + HEADER_SIZE + payloadLength <= buffer.capacity();
+        }
+
+        void append(long offset, long outboxId, byte[] payload) {
+            int position = writePosition;
+            buffer.putLong(position + Integer.BYTES, offset);
+            buffer.putLong(position + Integer.BYTES + Long.BYTES, outboxId);
+            buffer.put(position + HEADER_SIZE, payload);
+            buffer.putInt(position, payload.length); // 길이는 마지막에 기록
+
+            int index = count;
+            index(index, position);
+            writePosition = position + HEADER_SIZE + payload.length;
+            count = index + 1;
+        }
+
+        Record read(int index) {
+            int position = positions[index];
+            ByteBuffer view = buffer.duplicate();
+            int length = view.getInt(position);
+            long offset = view.getLong(position + Integer.BYTES);
+            long outboxId = view.getLong(position + Integer.BYTES + Long.BYTES);
+            ByteBuffer payload = view.position(position + HEADER_SIZE)
+                    .limit(position + HEADER_SIZE + length)
+                    .slice()
+                    .asReadOnlyBuffer();
+            return new Record(offset, outboxId, payload);
+        }
+
+        void force() {
+            buffer.force();
+        }
+
+        void close() {
+            force();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("세그먼트 닫기 실패 - base offset: {}", baseOffset, e);
+            }
+        }
+
+        private void index(int index, int position) {
+            if (index == positions.length) {
+                positions = Arrays.copyOf(positions, positions.length * 2);
+            }
+            positions[index] = position;
+        }
+    }
+}
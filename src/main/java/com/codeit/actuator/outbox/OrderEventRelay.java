@@ -0,0 +1,170 @@
+package com.codeit.actuator.outbox;
+
+import com.codeit.actuator.domain.OutboxEvent;
+import com.codeit.actuator.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 아웃박스 릴레이
+ * 발행되지 않은 아웃박스 이벤트를 이벤트 로그에 추가하고 발행 완료로 표시합니다.
+ * IDENTITY id 는 커밋 순서와 다르므로(작은 id 가 나중에 커밋될 수 있음) id 최고값이 아니라
+ * 발행 완료 표시로만 보낸 이벤트를 구분합니다. 로그에는 릴레이가 본 순서(대략 커밋 순서)로 쌓입니다.
+ * 로그에 기록했지만 발행 완료 표시가 커밋되지 않은 이벤트(마지막 배치)는 기억해 두었다가
+ * 다음 실행에서 다시 기록하지 않고 표시만 하므로, 중간에 실패하거나 종료되어도 중복 기록되지 않습니다.
+ * 로그는 로컬 파일이므로 릴레이는 한 인스턴스에서만 켭니다(기본 꺼짐).
+ * 실수로 여러 곳에서 켜도 advisory lock 으로 같은 이벤트를 동시에 보내지는 않습니다.
+ * 발행 완료 후 보관 기간(purge.retention)이 지난 아웃박스 행은 주기적으로 삭제합니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.outbox.relay", name = "enabled", havingValue = "true")
+@Slf4j
+public class OrderEventRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderEventLog orderEventLog;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration purgeRetention;
+    private final int purgeBatchSize;
+
+    private static final long ADVISORY_LOCK_KEY = 0x4f55544f5f524c59L; // "OUTO_RLY"
+
+    private final Counter relayedCounter;
+    private final Counter purgedCounter;
+    private final AtomicLong pending = new AtomicLong();
+    // 로그에 기록했지만 발행 완료 표시가 커밋되지 않은 아웃박스 ID (relay 스레드에서만 사용, null 이면 복구 전)
+    private Set<Long> unconfirmed;
+
+    public OrderEventRelay(OutboxEventRepository outboxEventRepository,
+                           OrderEventLog orderEventLog,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.outbox.relay.batch-size:500}") int batchSize,
+                           @Value("${app.outbox.purge.retention:P1D}") Duration purgeRetention,
+                           @Value("${app.outbox.purge.batch-size:5000}") int purgeBatchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.orderEventLog = orderEventLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.purgeRetention = purgeRetention;
+        this.purgeBatchSize = purgeBatchSize;
+
+        this.relayedCounter = Counter.builder("orders.outbox.relayed")
+                .description("Outbox events appended to the order event log")
+                .register(meterRegistry);
+        this.purgedCounter = Counter.builder("orders.outbox.purged")
+                .description("Published outbox events deleted after the retention period")
+                .register(meterRegistry);
+        Gauge.builder("orders.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox events not yet appended to the order event log")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval:PT0.2S}")
+    public void relay() {
+        if (unconfirmed == null) {
+            unconfirmed = recoverUnconfirmed();
+        }
+        if (!unconfirmed.isEmpty()) {
+            // 새 이벤트를 기록하기 전에 먼저 표시 (표시 안 된 기록이 한 배치를 넘지 않게)
+            transactionTemplate.executeWithoutResult(status ->
+                    outboxEventRepository.markPublished(unconfirmed, LocalDateTime.now()));
+            unconfirmed.clear();
+        }
+
+        int relayed;
+        do {
+            Integer count = transactionTemplate.execute(status -> relayBatch());
+            unconfirmed.clear();
+            relayed = count != null ? count : 0;
+        } while (relayed == batchSize);
+
+        pending.set(outboxEventRepository.countByPublishedAtIsNull());
+    }
+
+    /**
+     * 발행된 아웃박스 행 정리 (한 트랜잭션에서 purge.batch-size 개씩)
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.purge.interval:PT10M}",
+            initialDelayString = "${app.outbox.purge.interval:PT10M}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(purgeRetention);
+        long purged = 0;
+        int deleted;
+        do {
+            Integer count = transactionTemplate.execute(status ->
+                    outboxEventRepository.deletePublishedBefore(cutoff, purgeBatchSize));
+            deleted = count != null ? count : 0;
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+
+        if (purged > 0) {
+            purgedCounter.increment(purged);
+            log.info("발행된 아웃박스 이벤트 정리 - {}건", purged);
+        }
+    }
+
+    /**
+     * 재시작 시 로그 끝의 한 배치만큼은 기록 후 표시 전에 종료되었을 수 있음
+     * (이미 표시된 것은 markPublished 가 건드리지 않음)
+     */
+    private Set<Long> recoverUnconfirmed() {
+        Set<Long> recovered = new HashSet<>();
+        if (orderEventLog.getLastOutboxId() > outboxEventRepository.findMaxId()) {
+            // DB 가 새로 만들어져 아웃박스 ID 가 다시 시작된 경우 (ddl-auto: create)
+            log.warn("이벤트 로그의 아웃박스 ID({})가 DB 최대값보다 큽니다. 새 이벤트부터 이어서 기록합니다",
+                    orderEventLog.getLastOutboxId());
+            return recovered;
+        }
+        long from = Math.max(orderEventLog.getStartOffset(), orderEventLog.getEndOffset() - batchSize);
+        for (OrderEventLog.Record record : orderEventLog.read(from, batchSize)) {
+            recovered.add(record.outboxId());
+        }
+        return recovered;
+    }
+
+    private int relayBatch() {
+        if (!outboxEventRepository.tryAdvisoryXactLock(ADVISORY_LOCK_KEY)) {
+            log.debug("다른 인스턴스가 아웃박스 릴레이 중 - 건너뜀");
+            return 0;
+        }
+        List<OutboxEvent> events = outboxEventRepository.findUnpublished(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            if (unconfirmed.add(event.getId())) {
+                orderEventLog.append(event.getId(), event.getPayload().getBytes(StandardCharsets.UTF_8));
+            }
+            ids.add(event.getId());
+        }
+        orderEventLog.flush();
+        outboxEventRepository.markPublished(ids, LocalDateTime.now());
+
+        relayedCounter.increment(ids.size());
+        log.debug("아웃박스 이벤트 릴레이 - {}건, 로그 끝 offset: {}", ids.size(), orderEventLog.getEndOffset());
+
+        return events.size();
+    }
+}
@@ -0,0 +1,39 @@
+package com.codeit.actuator.outbox;
+
+import com.codeit.actuator.domain.OutboxEvent;
+import com.codeit.actuator.event.OrderEvent;
+import com.codeit.actuator.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 주문 이벤트를 아웃박스 테이블에 기록
+ * 커밋 직전(BEFORE_COMMIT)에 같은 트랜잭션으로 저장하므로 주문 변경과 이벤트가 함께 커밋/롤백됩니다.
+ * 릴레이가 켜진 인스턴스가 있을 때만 모든 인스턴스에서 켭니다(기본 꺼짐, 발행된 행은 릴레이가 정리).
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderEvent(OrderEvent event) {
+        try {
+            outboxEventRepository.save(OutboxEvent.create(
+                    event.order().getId(),
+                    event.type().name(),
+                    objectMapper.writeValueAsString(event)
+            ));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 이벤트 직렬화 실패", e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.codeit.actuator.payment;
+
+/**
+ * 헤지 예산
+ *
+ * 결제 요청마다 ratio 만큼 토큰이 쌓이고 헤지 한 번에 1 개를 씁니다.
+ * 헤지 요청이 결제 요청의 ratio 비율(순간적으로는 burst 개)을 넘지 않습니다.
+ */
+class HedgeBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private long balance;
+
+    HedgeBudget(double ratio, int burst) {
+        this.depositPerRequest = Math.round(ratio * SCALE);
+        this.maxBalance = burst * SCALE;
+    }
+
+    synchronized void deposit() {
+        balance = Math.min(maxBalance, balance + depositPerRequest);
+    }
+
+    synchronized boolean tryWithdraw() {
+        if (balance < SCALE) {
+            return false;
+        }
+        balance -= SCALE;
+        return true;
+    }
+}
@@ -0,0 +1,268 @@
+package com.codeit.actuator.payment;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 헤지 결제 요청
+ *
+ * 결제 응답이 최근 응답 시간의 분위수(기본 p95)를 넘겨도 오지 않으면 같은 멱등 키로 한 번 더 요청하고,
+ * 먼저 성공한 응답을 쓰고 나머지 요청은 취소합니다. 헤지 요청 수는 예산(결제 요청 대비 비율)으로 제한해서 장애 때 부하를 키우지 않습니다.
+ * 결제 API 가 느린 꼬리 구간에 걸린 요청만 다시 보내므로, 주문 생성 p99 가 결제 API p99 를 그대로 따라가지 않습니다.
+ * 결과를 알 수 없으면(전체 대기 시간 초과, 모든 요청이 오류) 같은 멱등 키로 결제를 무효화하고,
+ * 무효화가 확인되면 거절로, 확인되지 않으면 UNKNOWN 으로 돌려줍니다.
+ */
+@Component
+@EnableConfigurationProperties(PaymentProperties.class)
+@Slf4j
+public class HedgedPaymentClient implements DisposableBean {
+
+    private static final String PRIMARY = "primary";
+    private static final String HEDGE = "hedge";
+
+    private final PaymentGateway paymentGateway;
+    private final ObservationRegistry observationRegistry;
+    private final PaymentProperties.Hedging hedging;
+    private final long timeoutNanos;
+    private final LatencyWindow latencies;
+    private final HedgeBudget budget;
+    private final ExecutorService executor;
+
+    private final Counter hedgeSentCounter;
+    private final Counter hedgeWonCounter;
+    private final Counter budgetExhaustedCounter;
+    private final Counter timeoutCounter;
+    private final Counter voidFailedCounter;
+    private final Counter unknownCounter;
+
+    public HedgedPaymentClient(PaymentGateway paymentGateway,
+                               ObservationRegistry observationRegistry,
+                               PaymentProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.paymentGateway = paymentGateway;
+        this.observationRegistry = observationRegistry;
+        this.hedging = properties.getHedging();
+        this.timeoutNanos = properties.getTimeout().toNanos();
+        this.latencies = new LatencyWindow(hedging.getWindowSize(), hedging.getPercentile());
+        this.budget = new HedgeBudget(hedging.getBudgetRatio(), hedging.getBudgetBurst());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "payment-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.hedgeSentCounter = Counter.builder("payments.hedge.sent")
+                .description("Duplicate charge requests sent because the first one was slow")
+                .register(meterRegistry);
+        this.hedgeWonCounter = Counter.builder("payments.hedge.won")
+                .description("Charges where the hedge request succeeded first")
+                .register(meterRegistry);
+        this.budgetExhaustedCounter = Counter.builder("payments.hedge.budget.exhausted")
+                .description("Slow charges not hedged because the hedge budget was empty")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("payments.timeout")
+                .description("Charges with no successful response within the timeout")
+                .register(meterRegistry);
+        this.voidFailedCounter = Counter.builder("payments.void.failed")
+                .description("Timed-out charges whose void request failed")
+                .register(meterRegistry);
+        this.unknownCounter = Counter.builder("payments.unknown")
+                .description("Charges whose outcome stayed unknown because the void was not confirmed")
+                .register(meterRegistry);
+        Gauge.builder("payments.hedge.delay", this, client -> client.hedgeDelayNanos() / 1e9)
+                .description("Current wait before sending a hedge request")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 결제 요청 (헤지 포함)
+     */
+    public PaymentOutcome charge(String orderNumber, int amount) {
+        long startedAt = System.nanoTime();
+        Observation parent = observationRegistry.getCurrentObservation();
+        String idempotencyKey = "charge:" + orderNumber;
+        HedgedCall call = new HedgedCall(idempotencyKey);
+        call.send(PRIMARY, orderNumber, amount, parent);
+
+        PaymentOutcome outcome = null;
+        if (hedging.isEnabled()) {
+            budget.deposit();
+            outcome = call.await(startedAt + Math.min(hedgeDelayNanos(), timeoutNanos));
+            if (outcome == null) {
+                if (budget.tryWithdraw()) {
+                    hedgeSentCounter.increment();
+                    log.debug("결제 응답 지연 - 헤지 요청 전송: {}", orderNumber);
+                    call.send(HEDGE, orderNumber, amount, parent);
+                } else {
+                    budgetExhaustedCounter.increment();
+                }
+            }
+        }
+
+        if (outcome == null) {
+            outcome = call.await(startedAt + timeoutNanos);
+        }
+        call.cancelRemaining();
+        if (outcome == null) {
+            timeoutCounter.increment();
+            log.warn("결제 응답 시간 초과 - 주문번호: {}", orderNumber);
+            outcome = PaymentOutcome.UNKNOWN;
+        }
+        if (outcome != PaymentOutcome.UNKNOWN) {
+            return outcome;
+        }
+        if (voidCharge(idempotencyKey, orderNumber, amount)) {
+            log.info("결과를 알 수 없는 결제 무효화 - 주문번호: {}", orderNumber);
+            return PaymentOutcome.DECLINED;
+        }
+        unknownCounter.increment();
+        return PaymentOutcome.UNKNOWN;
+    }
+
+    /**
+     * 결과를 알 수 없는 결제를 같은 멱등 키로 무효화 (확인되면 true)
+     */
+    private boolean voidCharge(String idempotencyKey, String orderNumber, int amount) {
+        try {
+            if (paymentGateway.voidCharge(idempotencyKey, orderNumber, amount)) {
+                return true;
+            }
+            log.error("결제 무효화 실패 - 주문번호: {}, 멱등 키: {}", orderNumber, idempotencyKey);
+        } catch (Exception e) {
+            log.error("결제 무효화 실패 - 주문번호: {}, 멱등 키: {}", orderNumber, idempotencyKey, e);
+        }
+        voidFailedCounter.increment();
+        return false;
+    }
+
+    private long hedgeDelayNanos() {
+        long percentile = latencies.percentileNanos();
+        if (percentile < 0 || latencies.size() < hedging.getMinSamples()) {
+            return hedging.getInitialDelay().toNanos();
+        }
+        return Math.max(percentile, hedging.getMinDelay().toNanos());
+    }
+
+    /**
+     * 응답 시간 표본 수 (테스트용)
+     */
+    int latencySampleCount() {
+        return latencies.size();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 한 결제의 요청들 (첫 승인 응답, 모두 끝났을 때 오류가 하나라도 있으면 UNKNOWN, 아니면 거절)
+     */
+    private class HedgedCall {
+
+        private final String idempotencyKey;
+        private final CompletableFuture<PaymentOutcome> result = new CompletableFuture<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean failed;
+        private final List<CompletableFuture<Boolean>> requests = new CopyOnWriteArrayList<>();
+
+        HedgedCall(String idempotencyKey) {
+            this.idempotencyKey = idempotencyKey;
+        }
+
+        void send(String attempt, String orderNumber, int amount, Observation parent) {
+            pending.incrementAndGet();
+            long startedAt = System.nanoTime();
+            Observation observation = Observation.createNotStarted("payment.attempt", observationRegistry)
+                    .contextualName("payment attempt " + attempt)
+                    .lowCardinalityKeyValue("attempt", attempt)
+                    .parentObservation(parent)
+                    .start();
+
+            CompletableFuture<Boolean> request;
+            try {
+                request = observation.scoped(() -> paymentGateway.chargeAsync(idempotencyKey, orderNumber, amount, executor));
+            } catch (RuntimeException e) {
+                request = CompletableFuture.failedFuture(e);
+            }
+            requests.add(request);
+            request.whenComplete((success, error) -> {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                boolean approved = cause == null && Boolean.TRUE.equals(success);
+                if (cause instanceof CancellationException) {
+                    // 진 요청은 취소 시점까지의 시간(실제 응답 시간의 하한)으로 기록 - 빠른 응답만 남으면 분위수가 낮아짐
+                    observation.lowCardinalityKeyValue("outcome", "cancelled");
+                    latencies.record(System.nanoTime() - startedAt);
+                } else if (cause != null) {
+                    observation.lowCardinalityKeyValue("outcome", "error");
+                    observation.error(cause);
+                    log.error("결제 요청 실패 - 주문번호: {}, 요청: {}", orderNumber, attempt, cause);
+                    failed = true;
+                } else {
+                    observation.lowCardinalityKeyValue("outcome", approved ? "success" : "failure");
+                    latencies.record(System.nanoTime() - startedAt);
+                }
+                observation.stop();
+                finish(attempt, approved);
+            });
+        }
+
+        /**
+         * 결과가 정해진 뒤 아직 진행 중인 요청 취소 (HTTP 구현은 연결 요청을 중단)
+         */
+        void cancelRemaining() {
+            for (CompletableFuture<Boolean> request : requests) {
+                request.cancel(true);
+            }
+        }
+
+        private void finish(String attempt, boolean success) {
+            int remaining = pending.decrementAndGet();
+            if (success) {
+                if (result.complete(PaymentOutcome.APPROVED) && HEDGE.equals(attempt)) {
+                    hedgeWonCounter.increment();
+                }
+            } else if (remaining == 0) {
+                result.complete(failed ? PaymentOutcome.UNKNOWN : PaymentOutcome.DECLINED);
+            }
+        }
+
+        /**
+         * deadline 까지 결과 대기 (시간 안에 결과가 없으면 null)
+         */
+        PaymentOutcome await(long deadlineNanos) {
+            try {
+                return result.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return PaymentOutcome.UNKNOWN; // 요청은 이미 나갔으므로 거절로 볼 수 없음
+            } catch (ExecutionException e) {
+                return PaymentOutcome.UNKNOWN;
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.codeit.actuator.payment;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * HTTP 결제 API 클라이언트 (WebClient + Reactor Netty)
+ *
+ * 연결은 keep-alive 로 풀에서 재사용하고, 풀이 가득 차면 pending-acquire-timeout 까지만 기다립니다.
+ * 결제는 비동기로 완료되므로 헤지 요청이 스레드를 잡지 않고, 진 요청은 future 취소로 바로 끊습니다.
+ * 결제는 2xx 를 승인, 그 밖의 4xx 를 거절로 보고, 5xx/408/409/429 와 연결 오류/시간 초과는 처리 여부를 알 수 없으므로 예외로 넘깁니다.
+ * 환불/무효화/상태 확인은 확인된 성공만 true 입니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.payment", name = "gateway", havingValue = "http")
+@Slf4j
+public class HttpPaymentGateway implements PaymentGateway, DisposableBean {
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final ObservationRegistry observationRegistry;
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final Duration blockTimeout;
+    private final Duration voidTimeout;
+
+    public HttpPaymentGateway(WebClient.Builder webClientBuilder,
+                              PaymentProperties properties,
+                              ObservationRegistry observationRegistry) {
+        PaymentProperties.Http http = properties.getHttp();
+        this.observationRegistry = observationRegistry;
+        this.blockTimeout = properties.getTimeout();
+        this.voidTimeout = http.getResponseTimeout();
+
+        this.connectionProvider = ConnectionProvider.builder("payment-gateway")
+                .maxConnections(http.getMaxConnections())
+                .pendingAcquireTimeout(http.getPendingAcquireTimeout())
+                .maxIdleTime(http.getMaxIdleTime())
+                .evictInBackground(http.getMaxIdleTime())
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .keepAlive(true)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) http.getConnectTimeout().toMillis())
+                .responseTimeout(http.getResponseTimeout());
+        this.webClient = webClientBuilder
+                .baseUrl(http.getBaseUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+
+        log.info("결제 API HTTP 클라이언트 생성 - URL: {}, 최대 연결: {}개", http.getBaseUrl(), http.getMaxConnections());
+    }
+
+    @Override
+    public boolean charge(String idempotencyKey, String orderNumber, int amount) {
+        return Boolean.TRUE.equals(post("/payments/charges", idempotencyKey, orderNumber, amount).block(blockTimeout));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> chargeAsync(String idempotencyKey, String orderNumber, int amount, Executor executor) {
+        return post("/payments/charges", idempotencyKey, orderNumber, amount).toFuture();
+    }
+
+    @Override
+    public boolean voidCharge(String idempotencyKey, String orderNumber, int amount) {
+        // 결제 대기 시간을 넘긴 뒤에 보내는 요청이라, 같은 대기 시간으로는 느린 API 에서 무효화도 실패함
+        return block(confirmed("/payments/voids", idempotencyKey, orderNumber, amount), voidTimeout);
+    }
+
+    @Override
+    public boolean refund(String idempotencyKey, String orderNumber, int amount) {
+        return block(confirmed("/payments/refunds", idempotencyKey, orderNumber, amount));
+    }
+
+    @Override
+    public boolean checkHealth() {
+        return block(webClient.get()
+                .uri("/health")
+                .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().is2xxSuccessful()))
+                .onErrorReturn(false));
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.dispose();
+    }
+
+    /**
+     * 2xx 는 true, 4xx 는 false(거절), 결과를 알 수 없는 응답은 WebClientResponseException (연결 오류/시간 초과도 오류로 전달)
+     */
+    private Mono<Boolean> post(String path, String idempotencyKey, String orderNumber, int amount) {
+        // WebClient 는 Reactor Context 에서 부모 Observation 을 찾으므로 현재 단계(결제 요청)를 넘겨 줌
+        Observation parent = observationRegistry.getCurrentObservation();
+        return webClient.post()
+                .uri(path)
+                .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .bodyValue(Map.of("orderNumber", orderNumber, "amount", amount))
+                .exchangeToMono(response -> isOutcomeUnknown(response.statusCode())
+                        ? response.createError()
+                        : response.releaseBody().thenReturn(response.statusCode().is2xxSuccessful()))
+                .contextWrite(context -> parent != null
+                        ? context.put(ObservationThreadLocalAccessor.KEY, parent)
+                        : context);
+    }
+
+    /**
+     * 결제 API 가 요청을 처리했는지 알 수 없는 응답
+     * 5xx, 408(요청 시간 초과), 409(같은 키 요청 처리 중), 429(요청 제한)는 거절이 아니므로 무효화 대상
+     */
+    private static boolean isOutcomeUnknown(HttpStatusCode status) {
+        return status.is5xxServerError()
+                || status.isSameCodeAs(HttpStatus.REQUEST_TIMEOUT)
+                || status.isSameCodeAs(HttpStatus.CONFLICT)
+                || status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * 성공이 확인된 경우만 true (오류는 실패로 기록)
+     */
+    private Mono<Boolean> confirmed(String path, String idempotencyKey, String orderNumber, int amount) {
+        return post(path, idempotencyKey, orderNumber, amount)
+                .onErrorResume(e -> {
+                    log.warn("결제 API 호출 실패 - {} {}: {}", path, orderNumber, e.toString());
+                    return Mono.just(false);
+                });
+    }
+
+    private boolean block(Mono<Boolean> response) {
+        return block(response, blockTimeout);
+    }
+
+    private boolean block(Mono<Boolean> response, Duration timeout) {
+        try {
+            return Boolean.TRUE.equals(response.block(timeout));
+        } catch (IllegalStateException e) {
+            log.warn("결제 API 응답 대기 시간 초과 ({}ms)", timeout.toMillis());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.codeit.actuator.payment;
+
+import java.util.Arrays;
+
+/**
+ * 최근 응답 시간 분위수
+ *
+ * 최근 windowSize 개 응답 시간을 원형 버퍼에 두고, 일정 개수가 쌓일 때마다 분위수를 다시 계산합니다.
+ */
+class LatencyWindow {
+
+    private static final int RECOMPUTE_EVERY = 20;
+
+    private final long[] samples;
+    private final double percentile;
+    private int next;
+    private int count;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(int windowSize, double percentile) {
+        this.samples = new long[windowSize];
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        if (++sinceRecompute >= RECOMPUTE_EVERY) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            percentileNanos = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        }
+    }
+
+    synchronized int size() {
+        return count;
+    }
+
+    /**
+     * 마지막으로 계산한 분위수 (아직 없으면 -1)
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+}
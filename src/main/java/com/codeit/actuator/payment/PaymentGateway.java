@@ -0,0 +1,49 @@
+package com.codeit.actuator.payment;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * 외부 결제 API
+ *
+ * 같은 멱등 키로 여러 번 요청해도 결제/환불은 한 번만 처리되어야 합니다 (헤지 요청이 이 성질에 의존).
+ */
+public interface PaymentGateway {
+
+    /**
+     * 결제 요청
+     * 처리 여부를 알 수 없으면(연결 오류, 응답 시간 초과, 5xx, 408/409/429) false 대신 예외를 던집니다.
+     *
+     * @return 결제 승인 여부 (false 는 결제되지 않았음이 확실한 거절)
+     */
+    boolean charge(String idempotencyKey, String orderNumber, int amount);
+
+    /**
+     * 비동기 결제 요청 (블로킹 구현은 executor 스레드에서 charge 호출)
+     * 결과 future 를 취소하면 진행 중인 요청을 중단할 수 있는 구현은 중단합니다.
+     * 처리 여부를 알 수 없으면 예외로 완료합니다.
+     */
+    default CompletableFuture<Boolean> chargeAsync(String idempotencyKey, String orderNumber, int amount, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> charge(idempotencyKey, orderNumber, amount), executor);
+    }
+
+    /**
+     * 결제 무효화 (응답을 받지 못하고 포기한 결제를 같은 멱등 키로 취소)
+     * 그 키의 결제가 처리됐으면 취소하고, 아직 도착하지 않았으면 이후 같은 키의 결제를 거절합니다.
+     *
+     * @return 무효화 요청 성공 여부
+     */
+    boolean voidCharge(String idempotencyKey, String orderNumber, int amount);
+
+    /**
+     * 환불 요청
+     *
+     * @return 환불 성공 여부
+     */
+    boolean refund(String idempotencyKey, String orderNumber, int amount);
+
+    /**
+     * 결제 API 상태 확인
+     */
+    boolean checkHealth();
+}
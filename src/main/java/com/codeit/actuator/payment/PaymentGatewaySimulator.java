@@ -0,0 +1,238 @@
+package com.codeit.actuator.payment;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 로컬 결제 API 시뮬레이터 (Spring 없이 단독 실행)
+ *
+ * HttpPaymentGateway 가 호출하는 API 를 JDK HttpServer 로 흉내 냅니다. 실제 소켓과 keep-alive 연결을 쓰므로
+ * 한 대의 장비에서도 클라이언트 연결 풀과 타임아웃 한계를 시험할 수 있습니다.
+ *
+ * ./gradlew paymentSimulator -PsimulatorArgs="--port=8089 --median-latency=PT0.05S --p99-latency=PT0.8S"
+ *
+ * 옵션: port, median-latency, p99-latency (로그 정규 분포), error-rate (500), decline-rate (402),
+ *       outage-every, outage-duration (주기적으로 이 시간 동안 503), threads (0 이면 요청마다 스레드)
+ *
+ * POST /payments/charges, POST /payments/refunds, POST /payments/voids (Idempotency-Key 헤더), GET /health, GET /stats
+ * voids 는 같은 키의 결제를 무효화합니다 (이후 같은 키 결제는 402).
+ */
+@Slf4j
+public final class PaymentGatewaySimulator {
+
+    private static final double Z_99 = 2.326; // 표준 정규 분포 99 분위수
+    private static final int MAX_REMEMBERED_KEYS = 100_000;
+    private static final long MAX_LATENCY_MILLIS = 30_000;
+
+    private final double medianMillis;
+    private final double sigma;
+    private final double errorRate;
+    private final double declineRate;
+    private final long outageEveryMillis;
+    private final long outageDurationMillis;
+    private final long startedAt = System.currentTimeMillis();
+
+    private final Map<String, Integer> processed = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+            return size() > MAX_REMEMBERED_KEYS;
+        }
+    };
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder approved = new LongAdder();
+    private final LongAdder declined = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder outageRejected = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder voided = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong maxInFlight = new AtomicLong();
+
+    PaymentGatewaySimulator(Map<String, String> options) {
+        this.medianMillis = millis(options.getOrDefault("median-latency", "PT0.05S"));
+        double p99Millis = millis(options.getOrDefault("p99-latency", "PT0.5S"));
+        this.sigma = Math.max(0, Math.log(p99Millis / medianMillis) / Z_99);
+        this.errorRate = Double.parseDouble(options.getOrDefault("error-rate", "0"));
+        this.declineRate = Double.parseDouble(options.getOrDefault("decline-rate", "0"));
+        this.outageEveryMillis = (long) millis(options.getOrDefault("outage-every", "PT0S"));
+        this.outageDurationMillis = (long) millis(options.getOrDefault("outage-duration", "PT5S"));
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = parse(args);
+        int port = Integer.parseInt(options.getOrDefault("port", "8089"));
+        int threads = Integer.parseInt(options.getOrDefault("threads", "0"));
+
+        PaymentGatewaySimulator simulator = new PaymentGatewaySimulator(options);
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 4096);
+        server.createContext("/payments/", simulator::handlePayment);
+        server.createContext("/health", simulator::handleHealth);
+        server.createContext("/stats", simulator::handleStats);
+        ExecutorService executor = threads > 0 ? Executors.newFixedThreadPool(threads) : Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> server.stop(0)));
+        log.info("결제 API 시뮬레이터 시작 - 포트: {}, 옵션: {}", port, options);
+    }
+
+    private void handlePayment(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            drain(exchange.getRequestBody());
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "{\"status\":\"METHOD_NOT_ALLOWED\"}");
+                return;
+            }
+            requests.increment();
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                if (inOutage()) {
+                    outageRejected.increment();
+                    respond(exchange, 503, "{\"status\":\"UNAVAILABLE\"}");
+                    return;
+                }
+                Thread.sleep(sampleLatencyMillis());
+
+                String key = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+                if (exchange.getRequestURI().getPath().endsWith("/voids")) {
+                    voidCharge(key);
+                    respond(exchange, 200, "{\"status\":\"VOIDED\"}");
+                    return;
+                }
+                int status = decide(key);
+                switch (status) {
+                    case 200 -> approved.increment();
+                    case 402 -> declined.increment();
+                    default -> errors.increment();
+                }
+                respond(exchange, status, status == 200 ? "{\"status\":\"APPROVED\"}"
+                        : status == 402 ? "{\"status\":\"DECLINED\"}" : "{\"status\":\"ERROR\"}");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            drain(exchange.getRequestBody());
+            boolean available = !inOutage();
+            respond(exchange, available ? 200 : 503, available ? "{\"status\":\"UP\"}" : "{\"status\":\"DOWN\"}");
+        }
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            drain(exchange.getRequestBody());
+            respond(exchange, 200, String.format(
+                    "{\"requests\":%d,\"approved\":%d,\"declined\":%d,\"errors\":%d,\"outageRejected\":%d,"
+                            + "\"duplicates\":%d,\"voided\":%d,\"inFlight\":%d,\"maxInFlight\":%d}",
+                    requests.sum(), approved.sum(), declined.sum(), errors.sum(), outageRejected.sum(),
+                    duplicates.sum(), voided.sum(), inFlight.get(), maxInFlight.get()));
+        }
+    }
+
+    /**
+     * 응답 상태 결정 (같은 멱등 키는 처음 정한 결과를 그대로 돌려줌, 500 은 기억하지 않음)
+     */
+    private int decide(String key) {
+        if (key != null) {
+            synchronized (processed) {
+                Integer previous = processed.get(key);
+                if (previous != null) {
+                    duplicates.increment();
+                    return previous;
+                }
+            }
+        }
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < errorRate) {
+            return 500;
+        }
+        int status = roll < errorRate + declineRate ? 402 : 200;
+        if (key != null) {
+            synchronized (processed) {
+                Integer previous = processed.putIfAbsent(key, status);
+                if (previous != null) {
+                    duplicates.increment();
+                    return previous;
+                }
+            }
+        }
+        return status;
+    }
+
+    /**
+     * 결제 무효화 (이미 승인된 키도, 아직 오지 않은 키도 이후로는 402)
+     */
+    private void voidCharge(String key) {
+        voided.increment();
+        if (key != null) {
+            synchronized (processed) {
+                processed.put(key, 402);
+            }
+        }
+    }
+
+    private boolean inOutage() {
+        if (outageEveryMillis <= 0) {
+            return false;
+        }
+        long elapsed = System.currentTimeMillis() - startedAt;
+        return elapsed % outageEveryMillis >= outageEveryMillis - outageDurationMillis;
+    }
+
+    private long sampleLatencyMillis() {
+        double latency = medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+        return Math.min(Math.round(latency), MAX_LATENCY_MILLIS);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void drain(InputStream body) throws IOException {
+        body.readAllBytes(); // keep-alive 연결을 재사용하려면 요청 본문을 끝까지 읽어야 함
+    }
+
+    private static double millis(String duration) {
+        return Duration.parse(duration).toNanos() / 1_000_000.0;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("--이름=값 형식이어야 합니다: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
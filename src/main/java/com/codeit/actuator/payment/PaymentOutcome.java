@@ -0,0 +1,13 @@
+package com.codeit.actuator.payment;
+
+/**
+ * 결제 요청 결과
+ *
+ * UNKNOWN 은 응답 시간 초과, 연결 오류, 5xx 처럼 결제 API 가 결제를 처리했는지 알 수 없는 경우입니다.
+ * 거절(DECLINED)과 달리 나중에 승인으로 드러날 수 있으므로 재고를 바로 돌려놓으면 안 됩니다.
+ */
+public enum PaymentOutcome {
+    APPROVED,
+    DECLINED,
+    UNKNOWN
+}
@@ -0,0 +1,55 @@
+package com.codeit.actuator.payment;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 결제 API 호출 설정 (app.payment.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.payment")
+public class PaymentProperties {
+
+    private String gateway = "simulated";             // simulated | http
+    private Duration timeout = Duration.ofSeconds(3); // 결제 요청 전체 대기 시간 (헤지 포함)
+    private Hedging hedging = new Hedging();
+    private Simulator simulator = new Simulator();
+    private Http http = new Http();
+
+    @Getter
+    @Setter
+    public static class Hedging {
+        private boolean enabled = false;
+        private double percentile = 0.95;                     // 이 분위수 지연이 지나도 응답이 없으면 헤지
+        private Duration initialDelay = Duration.ofMillis(300); // 표본이 모이기 전 헤지 대기 시간
+        private Duration minDelay = Duration.ofMillis(20);
+        private int windowSize = 1000;                        // 분위수 계산에 쓰는 최근 응답 수
+        private int minSamples = 50;
+        private double budgetRatio = 0.1;                     // 결제 요청 대비 헤지 요청 비율 상한
+        private int budgetBurst = 10;                         // 한 번에 쓸 수 있는 헤지 수
+    }
+
+    @Getter
+    @Setter
+    public static class Simulator {
+        private Duration medianLatency = Duration.ofMillis(100);
+        private Duration p99Latency = Duration.ofMillis(100); // median 과 같으면 지연이 일정함
+        private double outageProbability = 0.05;              // 호출마다 일시 장애가 시작될 확률
+        private Duration outageDuration = Duration.ofSeconds(1);
+    }
+
+    @Getter
+    @Setter
+    public static class Http {
+        private String baseUrl = "http://localhost:8089";
+        private int maxConnections = 200;
+        private Duration pendingAcquireTimeout = Duration.ofSeconds(1); // 연결이 모두 사용 중일 때 기다리는 최대 시간
+        private Duration maxIdleTime = Duration.ofSeconds(30);          // keep-alive 연결을 놀려 두는 최대 시간
+        private Duration connectTimeout = Duration.ofSeconds(1);
+        private Duration responseTimeout = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,126 @@
+package com.codeit.actuator.payment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 결제 API 시뮬레이션
+ *
+ * 응답 지연은 중앙값과 p99 로 정한 로그 정규 분포를 따르고, 호출마다 일정 확률로 잠깐 장애가 납니다.
+ * 같은 멱등 키의 결제는 한 번만 처리된 것으로 기록하고, 무효화한 키의 결제는 거절합니다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.payment", name = "gateway", havingValue = "simulated", matchIfMissing = true)
+@Slf4j
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private static final double Z_99 = 2.326; // 표준 정규 분포 99 분위수
+    private static final int MAX_REMEMBERED_KEYS = 10_000;
+    private static final long MAX_LATENCY_MILLIS = 10_000;
+
+    private final PaymentProperties.Simulator properties;
+    private final double medianMillis;
+    private final double sigma;
+    private final Map<String, Boolean> processed = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_REMEMBERED_KEYS;
+        }
+    };
+
+    private volatile boolean isAvailable = true;  // 외부 API 가용성 시뮬레이션
+
+    public SimulatedPaymentGateway(PaymentProperties paymentProperties) {
+        this.properties = paymentProperties.getSimulator();
+        this.medianMillis = properties.getMedianLatency().toNanos() / 1_000_000.0;
+        double p99Millis = properties.getP99Latency().toNanos() / 1_000_000.0;
+        this.sigma = Math.max(0, Math.log(p99Millis / medianMillis) / Z_99);
+    }
+
+    @Override
+    public boolean charge(String idempotencyKey, String orderNumber, int amount) {
+        return call(idempotencyKey);
+    }
+
+    @Override
+    public boolean voidCharge(String idempotencyKey, String orderNumber, int amount) {
+        if (!isAvailable) {
+            return false;
+        }
+        synchronized (processed) {
+            processed.put(idempotencyKey, Boolean.FALSE);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean refund(String idempotencyKey, String orderNumber, int amount) {
+        return call(idempotencyKey);
+    }
+
+    @Override
+    public boolean checkHealth() {
+        simulateOutage();
+        return isAvailable;
+    }
+
+    /**
+     * API 가용성 강제 설정 (테스트용)
+     */
+    public void setAvailability(boolean available) {
+        this.isAvailable = available;
+        log.info("결제 API 가용성 변경: {}", available);
+    }
+
+    private boolean call(String idempotencyKey) {
+        simulateOutage();
+        if (!isAvailable) {
+            log.warn("결제 API 사용 불가");
+            return false;
+        }
+
+        try {
+            Thread.sleep(sampleLatencyMillis());  // API 호출 지연 시뮬레이션
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+
+        synchronized (processed) {
+            Boolean previous = processed.putIfAbsent(idempotencyKey, Boolean.TRUE);
+            if (previous != null) {
+                log.debug("중복 요청 - 이전 처리 결과 반환: {}", idempotencyKey);
+                return previous;
+            }
+        }
+        return true;
+    }
+
+    private long sampleLatencyMillis() {
+        double latency = medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+        return Math.min(Math.round(latency), MAX_LATENCY_MILLIS);
+    }
+
+    private void simulateOutage() {
+        if (ThreadLocalRandom.current().nextDouble() < properties.getOutageProbability()) {
+            isAvailable = false;
+            log.warn("결제 API 일시적 장애 발생");
+
+            // 잠시 후 자동 복구
+            new Thread(() -> {
+                try {
+                    Thread.sleep(properties.getOutageDuration().toMillis());
+                    isAvailable = true;
+                    log.info("결제 API 복구됨");
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }).start();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.codeit.actuator.reactive;
+
+import com.codeit.actuator.dto.ProductResponse;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * products 테이블 읽기 전용 매핑 (R2DBC)
+ */
+@Table("products")
+public record ProductRow(
+        @Id Long id,
+        String name,
+        String description,
+        Integer price,
+        Integer stock,
+        String category,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public ProductResponse toResponse() {
+        return new ProductResponse(id, name, description, price, stock, category, createdAt, updatedAt);
+    }
+}
@@ -0,0 +1,96 @@
+package com.codeit.actuator.reactive;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.r2dbc.config.AbstractR2dbcConfiguration;
+import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
+import org.springframework.util.StringUtils;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 논블로킹 카탈로그 조회용 R2DBC 설정
+ *
+ * R2DBC 자동 구성은 JPA 트랜잭션 매니저와 함께 두 번째 트랜잭션 매니저를 만들기 때문에
+ * 애플리케이션에서 제외하고, 조회 전용 연결 풀과 리포지토리만 여기서 직접 구성합니다.
+ * 연결 풀은 빈으로 등록하지 않습니다. ConnectionFactory 빈이 있으면 JDBC DataSource 자동 구성이 빠지기 때문입니다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.reactive-catalog", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReactiveCatalogProperties.class)
+@EnableR2dbcRepositories(basePackageClasses = ReactiveProductRepository.class)
+@Slf4j
+public class ReactiveCatalogConfig extends AbstractR2dbcConfiguration implements DisposableBean {
+
+    private final ReactiveCatalogProperties properties;
+    private final MeterRegistry meterRegistry;
+    private ConnectionPool pool;
+
+    public ReactiveCatalogConfig(ReactiveCatalogProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public synchronized ConnectionPool connectionFactory() {
+        if (pool == null) {
+            pool = createPool();
+            registerMetrics(pool);
+        }
+        return pool;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (pool != null) {
+            pool.dispose();
+        }
+    }
+
+    private ConnectionPool createPool() {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(properties.getUrl()).mutate();
+        if (StringUtils.hasText(properties.getUsername())) {
+            options.option(ConnectionFactoryOptions.USER, properties.getUsername());
+        }
+        if (StringUtils.hasText(properties.getPassword())) {
+            options.option(ConnectionFactoryOptions.PASSWORD, properties.getPassword());
+        }
+
+        ConnectionPoolConfiguration configuration = ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("reactive-catalog")
+                .initialSize(properties.getInitialSize())
+                .maxSize(properties.getMaxSize())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxAcquireTime(properties.getMaxAcquireTime())
+                .build();
+
+        log.info("논블로킹 카탈로그 연결 풀 생성 - URL: {}, 최대: {}개", properties.getUrl(), properties.getMaxSize());
+        return new ConnectionPool(configuration);
+    }
+
+    private void registerMetrics(ConnectionPool pool) {
+        pool.getMetrics().ifPresent(metrics -> {
+            gauge("r2dbc.pool.acquired", "Connections in use", metrics, PoolMetrics::acquiredSize);
+            gauge("r2dbc.pool.idle", "Idle connections", metrics, PoolMetrics::idleSize);
+            gauge("r2dbc.pool.pending", "Subscribers waiting for a connection", metrics, PoolMetrics::pendingAcquireSize);
+        });
+    }
+
+    private void gauge(String name, String description, PoolMetrics metrics, ToDoubleFunction<PoolMetrics> value) {
+        Gauge.builder(name, metrics, value)
+                .description(description)
+                .tag("name", "reactive-catalog")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,26 @@
+package com.codeit.actuator.reactive;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * 논블로킹 카탈로그 조회 설정 (app.reactive-catalog.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "app.reactive-catalog")
+public class ReactiveCatalogProperties {
+
+    private boolean enabled = false;
+    private String url = "r2dbc:postgresql://localhost:5432/postgres";
+    private String username;
+    private String password;
+    private int initialSize = 5;
+    private int maxSize = 20;                               // JDBC 풀과 별도의 R2DBC 연결 수
+    private Duration maxIdleTime = Duration.ofMinutes(30);
+    private Duration maxAcquireTime = Duration.ofSeconds(3); // 연결을 못 얻으면 실패 처리
+    private int prefetch = 256;                             // 스트리밍 시 한 번에 요청하는 행 수
+}
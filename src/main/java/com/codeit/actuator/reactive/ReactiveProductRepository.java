@@ -0,0 +1,11 @@
+package com.codeit.actuator.reactive;
+
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveProductRepository extends ReactiveCrudRepository<ProductRow, Long> {
+
+    Flux<ProductRow> findByCategory(String category);
+
+    Flux<ProductRow> findByNameContaining(String keyword);
+}
@@ -0,0 +1,17 @@
+package com.codeit.actuator.repository;
+
+import com.codeit.actuator.domain.OrderStatus;
+
+/**
+ * 카테고리 매출 집계 재생성용 프로젝션 (카테고리 x 상태, 주문 항목 기준)
+ */
+public interface CategoryRollupRow {
+
+    String getCategory();
+
+    OrderStatus getStatus();
+
+    Long getOrderCount();
+
+    Long getRevenue();
+}
@@ -0,0 +1,23 @@
+package com.codeit.actuator.repository;
+
+import com.codeit.actuator.domain.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // 주문이 실패한 예약 해제 (같은 키로 다시 시도할 수 있게)
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.key = :key and k.status = :status")
+    int deleteWithStatus(@Param("key") String key, @Param("status") IdempotencyKey.Status status);
+}
@@ -0,0 +1,15 @@
+package com.codeit.actuator.repository;
+
+/**
+ * 카테고리별 재고 집계 프로젝션 (재고 게이지 보정용)
+ */
+public interface InventoryRow {
+
+    String getCategory();
+
+    Long getTotalStock();
+
+    Long getOutOfStock();
+
+    Long getLowStock();
+}
@@ -2,9 +2,17 @@ package com.codeit.actuator.repository;
 
 import com.codeit.actuator.domain.Order;
 import com.codeit.actuator.domain.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,9 +20,114 @@ import java.util.Optional;
 public interface OrderRepository extends JpaRepository<Order, Long> {
     
     Optional<Order> findByOrderNumber(String orderNumber);
+
+    // 생성일 범위를 함께 걸어서 조회 (월별 파티션이면 해당 파티션만 읽음)
+    @Query("select o from Order o where o.orderNumber = :orderNumber and o.createdAt >= :from and o.createdAt < :to")
+    Optional<Order> findByOrderNumberCreatedBetween(@Param("orderNumber") String orderNumber,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("to") LocalDateTime to);
+
+    // 보관(archive) 파티션 조회 - 월별 파티셔닝을 켠 경우에만 테이블이 있음 (OrderPartitionManager)
+    @Query(value = "SELECT * FROM orders_archive WHERE id = :id", nativeQuery = true)
+    Optional<Order> findArchivedById(@Param("id") Long id);
+
+    @Query(value = "SELECT * FROM orders_archive WHERE order_number = :orderNumber", nativeQuery = true)
+    Optional<Order> findArchivedByOrderNumber(@Param("orderNumber") String orderNumber);
+
+    @Query(value = "SELECT * FROM orders_archive WHERE customer_email = :customerEmail", nativeQuery = true)
+    List<Order> findArchivedByCustomerEmail(@Param("customerEmail") String customerEmail);
     
     List<Order> findByStatus(OrderStatus status);
+
+    long countByStatusAndCreatedAtBefore(OrderStatus status, LocalDateTime createdAt);
+
+    // 상태 변경용 행 잠금 (만료 작업과 같은 주문을 동시에 바꾸지 않도록)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o from Order o where o.id = :id")
+    Optional<Order> findByIdForUpdate(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"product", "items", "items.product"})
+    List<Order> findByIdIn(Collection<Long> ids);
+
+    // 만료 대상 대기/결제 대기 주문 잠금 - 다른 노드나 요청이 잠근 주문은 기다리지 않고 건너뜀
+    @Query(value = """
+            SELECT id FROM orders
+            WHERE status = :status AND created_at < :cutoff
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<Long> lockExpiredIds(@Param("status") String status, @Param("cutoff") LocalDateTime cutoff,
+                              @Param("limit") int limit);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Order o
+            set o.status = com.codeit.actuator.domain.OrderStatus.CANCELLED, o.updatedAt = :now
+            where o.id in :ids and o.status = :status
+            """)
+    int cancelExpired(@Param("ids") Collection<Long> ids, @Param("status") OrderStatus status,
+                      @Param("now") LocalDateTime now);
+
+    @Query("""
+            select i.product.id as productId, sum(i.quantity) as quantity
+            from OrderItem i
+            where i.order.id in :orderIds
+            group by i.product.id
+            """)
+    List<ProductQuantityRow> sumItemQuantities(@Param("orderIds") Collection<Long> orderIds);
+
+    // 트랜잭션 범위 advisory lock (PostgreSQL 전용, 커밋/롤백 시 자동 해제)
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
     
+    // 응답에 주문 항목과 상품명이 들어가므로 함께 조회 (주문마다 지연 로딩하지 않도록)
+    @EntityGraph(attributePaths = {"product", "items", "items.product"})
     List<Order> findByCustomerEmail(String customerEmail);
+
+    // 매출 집계 재생성용 (일자 x 상태)
+    @Query("""
+            select cast(o.createdAt as LocalDate) as day,
+                   o.status as status,
+                   count(o) as orderCount,
+                   sum(o.totalAmount) as revenue
+            from Order o
+            group by cast(o.createdAt as LocalDate), o.status
+            """)
+    List<OrderRollupRow> aggregateRollups();
+
+    // 카테고리 매출 집계 재생성용 (여러 카테고리를 담은 주문은 카테고리마다 한 건으로 셈)
+    @Query("""
+            select p.category as category,
+                   o.status as status,
+                   count(distinct o) as orderCount,
+                   sum(i.amount) as revenue
+            from OrderItem i join i.order o join i.product p
+            group by p.category, o.status
+            """)
+    List<CategoryRollupRow> aggregateCategoryRollups();
+
+    // 보관(archive) 파티션의 매출 집계 - 월별 파티셔닝을 켠 경우에만 테이블이 있음 (OrderPartitionManager)
+    @Query(value = """
+            SELECT CAST(o.created_at AS date) AS day,
+                   o.status AS status,
+                   count(*) AS orderCount,
+                   sum(o.total_amount) AS revenue
+            FROM orders_archive o
+            GROUP BY CAST(o.created_at AS date), o.status
+            """, nativeQuery = true)
+    List<OrderRollupRow> aggregateArchivedRollups();
+
+    @Query(value = """
+            SELECT p.category AS category,
+                   o.status AS status,
+                   count(DISTINCT o.id) AS orderCount,
+                   sum(i.amount) AS revenue
+            FROM order_items i
+            JOIN orders_archive o ON o.id = i.order_id
+            JOIN products p ON p.id = i.product_id
+            GROUP BY p.category, o.status
+            """, nativeQuery = true)
+    List<CategoryRollupRow> aggregateArchivedCategoryRollups();
 }
 
@@ -0,0 +1,19 @@
+package com.codeit.actuator.repository;
+
+import com.codeit.actuator.domain.OrderStatus;
+
+import java.time.LocalDate;
+
+/**
+ * 주문 집계 재생성용 프로젝션 (일자 x 상태)
+ */
+public interface OrderRollupRow {
+
+    LocalDate getDay();
+
+    OrderStatus getStatus();
+
+    Long getOrderCount();
+
+    Long getRevenue();
+}
@@ -0,0 +1,46 @@
+package com.codeit.actuator.repository;
+
+import com.codeit.actuator.domain.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("select e from OutboxEvent e where e.publishedAt is null order by e.id")
+    List<OutboxEvent> findUnpublished(Pageable pageable);
+
+    long countByPublishedAtIsNull();
+
+    @Query("select coalesce(max(e.id), 0) from OutboxEvent e")
+    long findMaxId();
+
+    @Modifying
+    @Query("update OutboxEvent e set e.publishedAt = :publishedAt where e.id in :ids and e.publishedAt is null")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    // 발행 후 보관 기간이 지난 이벤트 삭제 (가장 큰 id 는 남겨서 릴레이가 DB 재생성으로 오인하지 않게 함)
+    @Modifying
+    @Query(value = """
+            DELETE FROM outbox_events
+            WHERE id IN (
+                SELECT id FROM outbox_events
+                WHERE published_at < :cutoff AND id < (SELECT max(id) FROM outbox_events)
+                ORDER BY id
+                LIMIT :limit
+            )
+            """, nativeQuery = true)
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    // 트랜잭션 범위 advisory lock (PostgreSQL 전용, 커밋/롤백 시 자동 해제)
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryAdvisoryXactLock(@Param("key") long key);
+}
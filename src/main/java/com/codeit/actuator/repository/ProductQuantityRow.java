@@ -0,0 +1,11 @@
+package com.codeit.actuator.repository;
+
+/**
+ * 상품별 주문 수량 합계 프로젝션 (재고 일괄 복구용)
+ */
+public interface ProductQuantityRow {
+
+    Long getProductId();
+
+    Long getQuantity();
+}
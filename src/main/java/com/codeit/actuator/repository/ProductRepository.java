@@ -1,16 +1,52 @@
 package com.codeit.actuator.repository;
 
 import com.codeit.actuator.domain.Product;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
     
     List<Product> findByCategory(String category);
     
     List<Product> findByNameContaining(String keyword);
+
+    // 재고 예약/복구용 행 잠금 - 항상 ID 순서로 잠가서 여러 상품을 담은 주문끼리 교착 상태가 생기지 않게 함
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id in :ids order by p.id")
+    List<Product> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // 주문 만료 시 재고 일괄 복구 (주문들의 항목 수량 합계만큼, 상품 행은 미리 잠가 둘 것)
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update Product p
+            set p.stock = p.stock + (select sum(i.quantity) from OrderItem i
+                                     where i.product.id = p.id and i.order.id in :orderIds),
+                p.updatedAt = :now
+            where p.id in :productIds
+            """)
+    int restoreStock(@Param("orderIds") Collection<Long> orderIds,
+                     @Param("productIds") Collection<Long> productIds,
+                     @Param("now") LocalDateTime now);
+
+    // 재고 게이지 보정용 (카테고리별 총 재고, 품절/재고 부족 SKU 수)
+    @Query("""
+            select p.category as category,
+                   sum(p.stock) as totalStock,
+                   sum(case when p.stock = 0 then 1 else 0 end) as outOfStock,
+                   sum(case when p.stock > 0 and p.stock <= :threshold then 1 else 0 end) as lowStock
+            from Product p
+            group by p.category
+            """)
+    List<InventoryRow> aggregateInventory(@Param("threshold") int lowStockThreshold);
 }
 
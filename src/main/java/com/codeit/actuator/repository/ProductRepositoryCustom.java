@@ -0,0 +1,30 @@
+package com.codeit.actuator.repository;
+
+import com.codeit.actuator.dto.ProductField;
+import com.codeit.actuator.dto.ProductImportRow;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 필요한 컬럼만 읽는 상품 목록 조회, sku 기준 일괄 upsert
+ */
+public interface ProductRepositoryCustom {
+
+    /**
+     * 선택한 필드만 조회 (행마다 필드 이름 -> 값)
+     *
+     * @param category null 이면 전체
+     * @param keyword  null 이면 이름 조건 없음
+     */
+    List<Map<String, Object>> findFields(Set<ProductField> fields, String category, String keyword);
+
+    /**
+     * sku 기준 일괄 등록/수정 (PostgreSQL INSERT ... ON CONFLICT, 여러 행을 한 문장으로 전송)
+     * 한 번에 넘기는 행들의 sku 는 서로 달라야 합니다.
+     *
+     * @return 반영된 행마다 상품 ID 와 등록 여부 (순서는 입력과 다를 수 있음)
+     */
+    List<ProductUpsertRow> upsertBySku(List<ProductImportRow> rows);
+}
@@ -0,0 +1,116 @@
+package com.codeit.actuator.repository;
+
+import com.codeit.actuator.domain.Product;
+import com.codeit.actuator.dto.ProductField;
+import com.codeit.actuator.dto.ProductImportRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 선택한 컬럼만 SELECT 하는 Tuple 조회 (엔티티를 만들지 않으므로 영속성 컨텍스트에도 쌓이지 않음)
+ * 일괄 upsert 는 JDBC 로 직접 실행 (진행 중인 JPA 트랜잭션의 연결을 함께 사용)
+ */
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+    private static final String UPSERT_PREFIX =
+            "INSERT INTO products (sku, name, description, price, stock, category, created_at, updated_at) VALUES ";
+    private static final String UPSERT_ROW = "(?, ?, ?, ?, ?, ?, ?, ?)";
+    // 타입을 지정해 두면 null 값을 바인딩할 때 드라이버에 파라미터 타입을 묻지 않음
+    private static final int[] UPSERT_TYPES = {Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER,
+            Types.INTEGER, Types.VARCHAR, Types.TIMESTAMP, Types.TIMESTAMP};
+    // xmax 가 0 이면 이번 문장에서 새로 만든 행 (충돌해서 수정된 행은 잠금 트랜잭션 ID 가 남음)
+    private static final String UPSERT_SUFFIX = """
+             ON CONFLICT (sku) DO UPDATE SET
+                name = EXCLUDED.name,
+                description = COALESCE(EXCLUDED.description, products.description),
+                price = EXCLUDED.price,
+                stock = EXCLUDED.stock,
+                category = EXCLUDED.category,
+                updated_at = EXCLUDED.updated_at
+            RETURNING id, (xmax = 0) AS inserted
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductRepositoryCustomImpl(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(Set<ProductField> fields, String category, String keyword) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Product> product = query.from(Product.class);
+
+        query.multiselect(fields.stream()
+                .<Selection<?>>map(field -> product.get(field.getName()).alias(field.getName()))
+                .toList());
+
+        List<Predicate> conditions = new ArrayList<>();
+        if (category != null) {
+            conditions.add(cb.equal(product.get("category"), category));
+        }
+        if (keyword != null) {
+            // findByNameContaining 과 같이 와일드카드 문자는 그대로 검색
+            String escaped = keyword.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+            conditions.add(cb.like(product.get("name"), "%" + escaped + "%", '\\'));
+        }
+        query.where(conditions.toArray(Predicate[]::new));
+
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        List<Map<String, Object>> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            for (ProductField field : fields) {
+                values.put(field.getName(), row.get(field.getName()));
+            }
+            result.add(values);
+        }
+        return result;
+    }
+
+    @Override
+    public List<ProductUpsertRow> upsertBySku(List<ProductImportRow> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        String sql = UPSERT_PREFIX + String.join(", ", Collections.nCopies(rows.size(), UPSERT_ROW)) + UPSERT_SUFFIX;
+        LocalDateTime now = LocalDateTime.now();
+        Object[] args = new Object[rows.size() * UPSERT_TYPES.length];
+        int[] types = new int[args.length];
+        int index = 0;
+        for (ProductImportRow row : rows) {
+            System.arraycopy(UPSERT_TYPES, 0, types, index, UPSERT_TYPES.length);
+            args[index++] = row.getSku();
+            args[index++] = row.getName();
+            args[index++] = row.getDescription();
+            args[index++] = row.getPrice();
+            args[index++] = row.getStock();
+            args[index++] = row.getCategory();
+            args[index++] = now;
+            args[index++] = now;
+        }
+        return jdbcTemplate.query(sql, args, types,
+                (rs, rowNum) -> new ProductUpsertRow(rs.getLong("id"), rs.getBoolean("inserted")));
+    }
+}
@@ -0,0 +1,7 @@
+package com.codeit.actuator.repository;
+
+/**
+ * 일괄 upsert 결과 (상품 ID, 새로 등록되었는지)
+ */
+public record ProductUpsertRow(Long id, boolean inserted) {
+}
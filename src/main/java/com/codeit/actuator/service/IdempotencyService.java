@@ -0,0 +1,271 @@
+package com.codeit.actuator.service;
+
+import com.codeit.actuator.domain.IdempotencyKey;
+import com.codeit.actuator.dto.OrderRequest;
+import com.codeit.actuator.dto.OrderResponse;
+import com.codeit.actuator.exception.IdempotencyKeyInProgressException;
+import com.codeit.actuator.exception.IdempotencyKeyMismatchException;
+import com.codeit.actuator.exception.PaymentOutcomeUnknownException;
+import com.codeit.actuator.repository.IdempotencyKeyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 주문 생성 멱등성 처리 (Idempotency-Key 헤더)
+ *
+ * 주문을 만들기 전에 키를 PENDING 으로 먼저 저장해서 커밋합니다(예약).
+ * 예약에 성공한 요청만 주문을 만들고, 끝나면 응답을 저장해서 COMPLETED 로 바꿉니다.
+ * 예약이 이미 있으면 완료된 키는 저장된 응답을 처음과 같은 상태 코드로 돌려주고, 처리 중인 키는 409 로 거절합니다.
+ * 키는 고객 이메일별로 구분하고, 같은 키를 다른 요청 본문으로 쓰면 422 로 거절합니다.
+ * 같은 인스턴스에 동시에 들어온 같은 키 요청은 먼저 들어온 요청의 결과를 기다립니다.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 100;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration memoryTtl;
+    private final Duration waitTimeout;
+
+    private final Map<String, Execution> executions = new ConcurrentHashMap<>();
+
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+    private final Counter conflictCounter;
+    private final Counter mismatchCounter;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.idempotency.ttl:PT24H}") Duration ttl,
+                              @Value("${app.idempotency.memory-ttl:PT10M}") Duration memoryTtl,
+                              @Value("${app.idempotency.wait-timeout:PT30S}") Duration waitTimeout) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        // 예약/완료는 주문과 별도 트랜잭션으로 바로 커밋
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.memoryTtl = memoryTtl;
+        this.waitTimeout = waitTimeout;
+
+        this.executedCounter = idempotencyCounter("executed", meterRegistry);
+        this.replayedCounter = idempotencyCounter("replayed", meterRegistry);
+        this.conflictCounter = idempotencyCounter("in_progress", meterRegistry);
+        this.mismatchCounter = idempotencyCounter("mismatch", meterRegistry);
+    }
+
+    /**
+     * 키당 한 번만 주문 생성
+     *
+     * @param key     Idempotency-Key 헤더 값
+     * @param request 주문 요청 (고객 이메일로 키를 구분하고 본문 지문을 비교)
+     * @param action  주문 생성 (예약을 커밋한 뒤 실행)
+     * @return 처음 실행한 요청의 응답
+     */
+    public OrderResponse execute(String key, OrderRequest request, Supplier<OrderResponse> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalStateException("Idempotency-Key 는 1-100자여야 합니다");
+        }
+        String scopedKey = request.getCustomerEmail() + "/" + key;
+        String requestHash = requestHash(request);
+
+        Execution mine = new Execution(requestHash);
+        Execution existing = executions.putIfAbsent(scopedKey, mine);
+        if (existing != null) {
+            if (!existing.requestHash.equals(requestHash)) {
+                mismatchCounter.increment();
+                throw new IdempotencyKeyMismatchException(key);
+            }
+            log.info("같은 멱등성 키의 요청 대기 - 키: {}", scopedKey);
+            replayedCounter.increment();
+            return existing.await(waitTimeout, key);
+        }
+
+        try {
+            OrderResponse response = reserveOrReplay(scopedKey, key, requestHash, action);
+            mine.future.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            // 실패한 요청은 기억하지 않음 (같은 키로 다시 시도 가능)
+            executions.remove(scopedKey, mine);
+            mine.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 오래된 키 정리 (메모리 / DB)
+     * 처리 도중 인스턴스가 죽어 PENDING 으로 남은 키도 보관 기간이 지나면 삭제됨
+     */
+    @Scheduled(fixedDelayString = "${app.idempotency.sweep-interval:PT1M}")
+    public void evictExpired() {
+        long memoryCutoff = System.nanoTime() - memoryTtl.toNanos();
+        executions.values().removeIf(execution ->
+                execution.future.isDone() && execution.createdAt - memoryCutoff < 0);
+
+        Integer deleted = transactionTemplate.execute(status ->
+                idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(ttl)));
+        if (deleted != null && deleted > 0) {
+            log.debug("만료된 멱등성 키 삭제 - {}건", deleted);
+        }
+    }
+
+    /**
+     * 키를 예약하고 주문 생성, 이미 예약된 키면 저장된 응답 반환
+     */
+    private OrderResponse reserveOrReplay(String scopedKey, String key, String requestHash, Supplier<OrderResponse> action) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyKeyRepository.saveAndFlush(IdempotencyKey.reserve(scopedKey, requestHash)));
+        } catch (DataIntegrityViolationException e) {
+            return replay(scopedKey, key, requestHash);
+        }
+
+        OrderResponse created;
+        try {
+            created = action.get();
+        } catch (PaymentOutcomeUnknownException e) {
+            // 주문은 결제 대기로 남았으므로 키를 그 주문과 202 로 완료해서 다시 시도해도 새 주문이 생기지 않게 함
+            complete(scopedKey, e.getOrder(), HttpStatus.ACCEPTED);
+            throw e;
+        } catch (RuntimeException e) {
+            // 주문이 롤백되었으므로 예약을 풀어 같은 키로 다시 시도할 수 있게 함
+            transactionTemplate.executeWithoutResult(status ->
+                    idempotencyKeyRepository.deleteWithStatus(scopedKey, IdempotencyKey.Status.PENDING));
+            throw e;
+        }
+
+        complete(scopedKey, created, HttpStatus.OK);
+        executedCounter.increment();
+        return created;
+    }
+
+    private void complete(String scopedKey, OrderResponse created, HttpStatus responseStatus) {
+        transactionTemplate.executeWithoutResult(status ->
+                idempotencyKeyRepository.findById(scopedKey)
+                        .ifPresent(reserved -> reserved.complete(created.getId(), write(created), responseStatus.value())));
+    }
+
+    /**
+     * 이미 예약된 키 (다른 인스턴스나 이전 요청)
+     */
+    private OrderResponse replay(String scopedKey, String key, String requestHash) {
+        IdempotencyKey stored = idempotencyKeyRepository.findById(scopedKey)
+                // 예약한 요청이 실패해서 방금 지워진 경우 (클라이언트가 다시 시도하면 됨)
+                .orElseThrow(() -> new IdempotencyKeyInProgressException(key));
+        if (!stored.getRequestHash().equals(requestHash)) {
+            mismatchCounter.increment();
+            throw new IdempotencyKeyMismatchException(key);
+        }
+        if (stored.getStatus() == IdempotencyKey.Status.PENDING) {
+            log.info("다른 요청이 처리 중인 멱등성 키 - 키: {}", scopedKey);
+            conflictCounter.increment();
+            throw new IdempotencyKeyInProgressException(key);
+        }
+        log.info("저장된 응답 반환 - 멱등성 키: {}", scopedKey);
+        replayedCounter.increment();
+        OrderResponse response = read(stored.getResponse());
+        if (stored.getResponseStatus() != null && stored.getResponseStatus() == HttpStatus.ACCEPTED.value()) {
+            // 처음 응답과 같은 202 (결제 결과 확인 불가)
+            throw new PaymentOutcomeUnknownException(response);
+        }
+        return response;
+    }
+
+    /**
+     * 요청 본문 지문 (단건 형식과 items 형식은 같은 항목이면 같은 지문)
+     */
+    private String requestHash(OrderRequest request) {
+        try {
+            byte[] canonical = objectMapper.writeValueAsBytes(List.of(request.getLines(),
+                    request.getCustomerName(), request.getCustomerEmail(), request.getDeliveryAddress()));
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(canonical));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("주문 요청 지문 계산 실패", e);
+        }
+    }
+
+    private String write(OrderResponse response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 응답 저장 실패", e);
+        }
+    }
+
+    private OrderResponse read(String json) {
+        try {
+            return objectMapper.readValue(json, OrderResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("저장된 주문 응답을 읽을 수 없습니다", e);
+        }
+    }
+
+    private static Counter idempotencyCounter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("orders.idempotency")
+                .description("Order creations by idempotency outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 진행 중이거나 끝난 실행
+     */
+    private static final class Execution {
+        private final CompletableFuture<OrderResponse> future = new CompletableFuture<>();
+        private final long createdAt = System.nanoTime();
+        private final String requestHash;
+
+        Execution(String requestHash) {
+            this.requestHash = requestHash;
+        }
+
+        OrderResponse await(Duration timeout, String key) {
+            try {
+                return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new IllegalStateException(e.getCause());
+            } catch (TimeoutException e) {
+                throw new IdempotencyKeyInProgressException(key);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("요청 처리가 중단되었습니다");
+            }
+        }
+    }
+}
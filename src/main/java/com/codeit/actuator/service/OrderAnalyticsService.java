@@ -0,0 +1,264 @@
+package com.codeit.actuator.service;
+
+import com.codeit.actuator.domain.OrderStatus;
+import com.codeit.actuator.dto.OrderResponse;
+import com.codeit.actuator.dto.RevenueRollupResponse;
+import com.codeit.actuator.event.OrderEvent;
+import com.codeit.actuator.event.TransactionVisibility;
+import com.codeit.actuator.event.TransactionVisibility.Snapshot;
+import com.codeit.actuator.repository.CategoryRollupRow;
+import com.codeit.actuator.repository.OrderRepository;
+import com.codeit.actuator.repository.OrderRollupRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 주문/매출 집계 서비스
+ *
+ * 주문 테이블을 매번 스캔하지 않도록 카테고리/일자/상태별 집계를 메모리에 유지합니다.
+ * 주문 생성/상태 변경이 커밋될 때마다 증분 반영하고,
+ * 시작 시 또는 요청 시 DB 에서 처음부터 다시 만들 수 있습니다.
+ *
+ * 재생성은 한 스냅샷(REPEATABLE READ)에서 집계하고 그 스냅샷을 기억해 둡니다.
+ * 재생성 전에 커밋됐지만 리스너가 늦게 도착한 이벤트는 스냅샷에 이미 포함돼 있으므로
+ * 이벤트의 트랜잭션 id 가 스냅샷에 보이는 경우 반영하지 않습니다 (이중 집계 방지).
+ *
+ * 월별 파티셔닝을 켜면 오래된 주문은 orders_archive 로 옮겨지므로 재생성할 때 보관 테이블도 함께 집계합니다.
+ */
+@Service
+@Slf4j
+public class OrderAnalyticsService {
+
+    private final OrderRepository orderRepository;
+    private final TransactionVisibility transactionVisibility;
+    private final TransactionTemplate snapshotTemplate;
+    private final boolean archiveIncluded;
+
+    private final Map<String, Bucket> byCategory = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Bucket> byDay = new ConcurrentHashMap<>();
+    private final Map<OrderStatus, Bucket> byStatus = new EnumMap<>(OrderStatus.class);
+
+    // 증분 반영(read)은 동시에, 재생성(write)은 단독으로 수행
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+    private volatile LocalDateTime rebuiltAt;
+    // 마지막 재생성에 쓴 스냅샷 (재생성 전에는 null)
+    private volatile Snapshot rebuiltFrom;
+    // 재생성 쿼리가 도는 동안 반영한 이벤트 (재생성 중이 아니면 null)
+    private volatile Queue<OrderEvent> receivedDuringRebuild;
+
+    public OrderAnalyticsService(OrderRepository orderRepository,
+                                 TransactionVisibility transactionVisibility,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.order-partitioning.enabled:false}") boolean archiveIncluded) {
+        this.orderRepository = orderRepository;
+        this.transactionVisibility = transactionVisibility;
+        this.archiveIncluded = archiveIncluded;
+        // 스냅샷 조회와 두 집계 쿼리가 같은 스냅샷을 보도록 REPEATABLE READ
+        this.snapshotTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, new Bucket());
+        }
+    }
+
+    /**
+     * 현재 집계 조회 (주문 수와 무관하게 집계 키 개수만큼만 순회)
+     */
+    public RevenueRollupResponse getRollups() {
+        Map<String, RevenueRollupResponse.Rollup> categories = new TreeMap<>();
+        byCategory.forEach((category, bucket) -> categories.put(category, bucket.snapshot()));
+
+        Map<LocalDate, RevenueRollupResponse.Rollup> days = new TreeMap<>();
+        byDay.forEach((day, bucket) -> days.put(day, bucket.snapshot()));
+
+        Map<OrderStatus, RevenueRollupResponse.Rollup> statuses = new EnumMap<>(OrderStatus.class);
+        byStatus.forEach((status, bucket) -> statuses.put(status, bucket.snapshot()));
+
+        return new RevenueRollupResponse(categories, days, statuses, rebuiltAt);
+    }
+
+    /**
+     * 주문 이벤트 증분 반영 (커밋 이후)
+     */
+    @TransactionalEventListener
+    public void onOrderEvent(OrderEvent event) {
+        rebuildLock.readLock().lock();
+        try {
+            Snapshot snapshot = rebuiltFrom;
+            if (snapshot != null && snapshot.includes(event.transactionId())) {
+                log.debug("재생성 스냅샷에 포함된 주문 이벤트 건너뜀 - 주문번호: {}", event.order().getOrderNumber());
+                return;
+            }
+            apply(event);
+
+            // 재생성 중이면 새 집계로 바꾼 뒤 다시 반영할 수 있도록 기록
+            Queue<OrderEvent> received = receivedDuringRebuild;
+            if (received != null) {
+                received.add(event);
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    private void apply(OrderEvent event) {
+        OrderResponse order = event.order();
+        long amount = order.getTotalAmount();
+        LocalDate day = order.getCreatedAt().toLocalDate();
+
+        if (event.previousStatus() != null) {
+            byStatus.get(event.previousStatus()).add(-1, -amount);
+        }
+        byStatus.get(order.getStatus()).add(1, amount);
+
+        // 카테고리/일자 집계는 취소를 제외한 순매출 (카테고리는 해당 카테고리 항목 금액만)
+        if (event.type() == OrderEvent.Type.CREATED) {
+            event.revenueByCategory().forEach((category, revenue) ->
+                    bucket(byCategory, category).add(1, revenue));
+            bucket(byDay, day).add(1, amount);
+        } else if (event.type() == OrderEvent.Type.CANCELLED) {
+            event.revenueByCategory().forEach((category, revenue) ->
+                    bucket(byCategory, category).add(-1, -revenue));
+            bucket(byDay, day).add(-1, -amount);
+        }
+    }
+
+    /**
+     * 애플리케이션 시작 시 집계 생성
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    /**
+     * DB 에서 집계 재생성
+     *
+     * 집계 쿼리는 잠금 없이 실행하고 (이벤트 리스너가 DB 연결을 잡은 채 기다리지 않도록),
+     * 새 집계로 바꾸는 동안만 쓰기 잠금을 잡습니다.
+     * 쿼리 도중 반영된 이벤트 중 스냅샷에 없는 것은 새 집계에 다시 반영합니다.
+     */
+    public synchronized RevenueRollupResponse rebuild() {
+        log.info("주문 집계 재생성 시작");
+
+        Queue<OrderEvent> received = new ConcurrentLinkedQueue<>();
+        setReceivedDuringRebuild(received);
+        Loaded loaded;
+        try {
+            loaded = snapshotTemplate.execute(status -> {
+                // 트랜잭션의 첫 문장에서 스냅샷이 정해지므로 스냅샷부터 조회
+                Snapshot snapshot = transactionVisibility.currentSnapshot();
+                List<OrderRollupRow> rollups = new ArrayList<>(orderRepository.aggregateRollups());
+                List<CategoryRollupRow> categoryRollups = new ArrayList<>(orderRepository.aggregateCategoryRollups());
+                if (archiveIncluded) {
+                    rollups.addAll(orderRepository.aggregateArchivedRollups());
+                    categoryRollups.addAll(orderRepository.aggregateArchivedCategoryRollups());
+                }
+                return new Loaded(snapshot, rollups, categoryRollups);
+            });
+        } catch (RuntimeException e) {
+            setReceivedDuringRebuild(null);
+            throw e;
+        }
+
+        rebuildLock.writeLock().lock();
+        try {
+            receivedDuringRebuild = null;
+            byCategory.clear();
+            byDay.clear();
+            byStatus.values().forEach(Bucket::reset);
+
+            for (OrderRollupRow row : loaded.rollups()) {
+                long count = row.getOrderCount();
+                long revenue = row.getRevenue() != null ? row.getRevenue() : 0L;
+
+                byStatus.get(row.getStatus()).add(count, revenue);
+                if (row.getStatus() != OrderStatus.CANCELLED) {
+                    bucket(byDay, row.getDay()).add(count, revenue);
+                }
+            }
+            for (CategoryRollupRow row : loaded.categoryRollups()) {
+                if (row.getStatus() != OrderStatus.CANCELLED) {
+                    long revenue = row.getRevenue() != null ? row.getRevenue() : 0L;
+                    bucket(byCategory, row.getCategory()).add(row.getOrderCount(), revenue);
+                }
+            }
+
+            int replayed = 0;
+            for (OrderEvent event : received) {
+                if (!loaded.snapshot().includes(event.transactionId())) {
+                    apply(event);
+                    replayed++;
+                }
+            }
+            rebuiltFrom = loaded.snapshot();
+            rebuiltAt = LocalDateTime.now();
+            log.debug("재생성 중 도착한 주문 이벤트 {}건 중 {}건 다시 반영", received.size(), replayed);
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+
+        log.info("주문 집계 재생성 완료 - 카테고리: {}개, 일자: {}개", byCategory.size(), byDay.size());
+
+        return getRollups();
+    }
+
+    private void setReceivedDuringRebuild(Queue<OrderEvent> received) {
+        rebuildLock.writeLock().lock();
+        try {
+            receivedDuringRebuild = received;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private static <K> Bucket bucket(Map<K, Bucket> rollups, K key) {
+        return rollups.computeIfAbsent(key, k -> new Bucket());
+    }
+
+    private record Loaded(Snapshot snapshot, List<OrderRollupRow> rollups, List<CategoryRollupRow> categoryRollups) {
+    }
+
+    /**
+     * 주문 수 / 금액 누적기
+     */
+    private static final class Bucket {
+        private final LongAdder orders = new LongAdder();
+        private final LongAdder revenue = new LongAdder();
+
+        void add(long orderDelta, long amountDelta) {
+            orders.add(orderDelta);
+            revenue.add(amountDelta);
+        }
+
+        void reset() {
+            orders.reset();
+            revenue.reset();
+        }
+
+        RevenueRollupResponse.Rollup snapshot() {
+            return new RevenueRollupResponse.Rollup(orders.sum(), revenue.sum());
+        }
+    }
+}
@@ -1,21 +1,42 @@
 package com.codeit.actuator.service;
 
+import com.codeit.actuator.cache.CustomerOrderCache;
 import com.codeit.actuator.domain.Order;
+import com.codeit.actuator.domain.OrderItem;
+import com.codeit.actuator.domain.OrderStatus;
 import com.codeit.actuator.domain.Product;
 import com.codeit.actuator.dto.OrderRequest;
 import com.codeit.actuator.dto.OrderResponse;
+import com.codeit.actuator.event.OrderEvent;
+import com.codeit.actuator.event.ProductChangedEvent;
+import com.codeit.actuator.event.TransactionVisibility;
 import com.codeit.actuator.exception.OrderNotFoundException;
+import com.codeit.actuator.exception.PaymentOutcomeUnknownException;
 import com.codeit.actuator.exception.ProductNotFoundException;
+import com.codeit.actuator.payment.PaymentOutcome;
 import com.codeit.actuator.repository.OrderRepository;
 import com.codeit.actuator.repository.ProductRepository;
+import com.codeit.actuator.tracing.StageTracer;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
@@ -29,6 +50,12 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
     private final PaymentService paymentService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionVisibility transactionVisibility;
+    private final CustomerOrderCache customerOrderCache;
+    private final StageTracer stageTracer;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean archiveLookup;
 
     //메트릭 추가!
     private final Counter orderCreatedCounter;
@@ -40,10 +67,22 @@ public class OrderService {
     public OrderService(OrderRepository orderRepository,
                         ProductRepository productRepository,
                         PaymentService paymentService,
-                        MeterRegistry meterRegistry) {
+                        ApplicationEventPublisher eventPublisher,
+                        TransactionVisibility transactionVisibility,
+                        CustomerOrderCache customerOrderCache,
+                        StageTracer stageTracer,
+                        PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.order-partitioning.enabled:false}") boolean archiveLookup) {
         this.orderRepository = orderRepository;
         this.productRepository = productRepository;
         this.paymentService = paymentService;
+        this.eventPublisher = eventPublisher;
+        this.transactionVisibility = transactionVisibility;
+        this.customerOrderCache = customerOrderCache;
+        this.stageTracer = stageTracer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveLookup = archiveLookup;
 
         // 메트릭 등록
         this.orderCreatedCounter = Counter.builder("orders.created") // 메트릭 이름
@@ -78,12 +117,13 @@ public class OrderService {
     }
 
     /**
-     * 주문 ID로 조회
+     * 주문 ID로 조회 (보관된 주문 포함)
      */
     public OrderResponse findById(Long id) {
         log.debug("주문 조회 - ID: {}", id);
 
         Order order = orderRepository.findById(id)
+                .or(() -> archiveLookup ? orderRepository.findArchivedById(id) : Optional.empty())
                 .orElseThrow(() -> new OrderNotFoundException(id));
 
         log.debug("주문 조회 완료 - ID: {}, 주문번호: {}", order.getId(), order.getOrderNumber());
@@ -92,81 +132,190 @@ public class OrderService {
     }
 
     /**
-     * 주문번호로 조회
+     * 주문번호로 조회 (보관된 주문 포함)
      */
     public OrderResponse findByOrderNumber(String orderNumber) {
         log.debug("주문 조회 - 주문번호: {}", orderNumber);
 
-        Order order = orderRepository.findByOrderNumber(orderNumber)
+        // 주문번호의 날짜로 생성일 범위를 좁힘 (번호 생성과 생성 시각 사이에 자정이 지날 수 있어 이틀)
+        LocalDate orderDate = Order.orderDateOf(orderNumber);
+        Optional<Order> found = orderDate == null
+                ? orderRepository.findByOrderNumber(orderNumber)
+                : orderRepository.findByOrderNumberCreatedBetween(orderNumber,
+                        orderDate.atStartOfDay(), orderDate.plusDays(2).atStartOfDay());
+
+        Order order = found
+                .or(() -> archiveLookup ? orderRepository.findArchivedByOrderNumber(orderNumber) : Optional.empty())
                 .orElseThrow(() -> new OrderNotFoundException(orderNumber));
 
         return OrderResponse.from(order);
     }
 
     /**
-     * 이메일로 주문 조회
+     * 이메일로 주문 조회 (고객별 주문 내역 캐시 사용)
+     * 캐시 적중 시 DB 연결을 잡지 않도록 트랜잭션을 시작하지 않음
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public List<OrderResponse> findByCustomerEmail(String email) {
         log.debug("이메일로 주문 조회 - 이메일: {}", email);
 
-        List<Order> orders = orderRepository.findByCustomerEmail(email);
+        List<OrderResponse> orders = customerOrderCache.get(email);
 
         log.debug("조회된 주문 개수: {}", orders.size());
 
-        return orders.stream()
-                .map(OrderResponse::from)
-                .collect(Collectors.toList());
+        return orders;
     }
 
     /**
      * 주문 생성
+     * 모든 상품을 ID 순서로 잠근 뒤 재고를 차감하고 결제 대기(AWAITING_PAYMENT) 주문을 저장해서 먼저 커밋합니다(재고 예약).
+     * 결제 대기 주문은 확인/배송/고객 취소를 받지 않으므로, 결제 도중 다른 요청이 주문을 진행시킬 수 없습니다.
+     * 결제는 상품 행 잠금을 푼 뒤 주문 전체 금액으로 한 번만 요청하고, 승인되면 대기(PENDING)로 바꾸고
+     * 거절되면 주문을 취소하고 재고를 되돌립니다.
+     * 결제 결과를 알 수 없거나(무효화도 확인되지 않음) 결제 이후 단계에서 예외가 나면 나중에 승인으로 드러날 수 있으므로
+     * 주문을 결제 대기로 남기고 PaymentOutcomeUnknownException 을 던집니다.
+     * 이렇게 남은 주문과 결제 도중 인스턴스가 죽어 남은 주문은 주문 만료 작업이 취소, 환불하고 재고를 복구합니다.
+     * 단계별 시간을 보기 위해 재고 UPDATE 와 주문 INSERT 는 각 단계 안에서 flush 합니다.
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderResponse create(OrderRequest request) {
-        log.info("주문 생성 시작 - 상품ID: {}, 수량: {}, 고객: {}",
-                request.getProductId(), request.getQuantity(), request.getCustomerName());
+        OrderResponse reserved = transactionTemplate.execute(status -> reserve(request));
+
+        PaymentOutcome outcome;
+        OrderResponse paid = null;
+        try {
+            // 결제 처리 (외부 API 호출) - 잠금 없이 호출
+            outcome = stageTracer.observe("create", "payment", () -> paymentService.processPayment(
+                    reserved.getOrderNumber(),
+                    reserved.getTotalAmount()
+            ));
+            if (outcome == PaymentOutcome.APPROVED) {
+                paid = transactionTemplate.execute(status -> markPaid(reserved.getId()));
+            }
+        } catch (RuntimeException e) {
+            log.error("결제 처리 중 오류 - 주문 결제 대기 유지, 주문번호: {}", reserved.getOrderNumber(), e);
+            throw new PaymentOutcomeUnknownException(reserved);
+        }
 
-        // 상품 조회
-        Product product = productRepository.findById(request.getProductId())
-                .orElseThrow(() -> new ProductNotFoundException(request.getProductId()));
+        if (outcome == PaymentOutcome.DECLINED) {
+            release(reserved.getId());
+            throw new IllegalStateException("결제 처리에 실패했습니다");
+        }
+        if (outcome == PaymentOutcome.UNKNOWN) {
+            log.warn("결제 결과 확인 불가 - 주문 결제 대기 유지, 주문번호: {}", reserved.getOrderNumber());
+            throw new PaymentOutcomeUnknownException(reserved);
+        }
+        if (paid == null) {
+            // 결제하는 동안 만료 작업이 먼저 취소함 (환불도 만료 작업이 요청)
+            throw new IllegalStateException("결제 대기 시간이 지나 주문이 취소되었습니다");
+        }
 
-        log.debug("상품 조회 완료 - 이름: {}, 재고: {}개", product.getName(), product.getStock());
+        //메트릭 증가!
+        orderCreatedCounter.increment();
+        orderAmountSummary.record(paid.getTotalAmount()); // 금액 기록!
 
-        // 재고 확인 및 차감
-        product.decreaseStock(request.getQuantity());
-        log.debug("재고 차감 완료 - 남은 재고: {}개", product.getStock());
+        log.info("주문 생성 완료 - 주문ID: {}, 주문번호: {}, 금액: {}원",
+                paid.getId(), paid.getOrderNumber(), paid.getTotalAmount());
+
+        return paid;
+    }
+
+    /**
+     * 재고 차감 + 결제 대기 주문 저장 (create 의 첫 트랜잭션)
+     */
+    private OrderResponse reserve(OrderRequest request) {
+        stageTracer.observeCommit("create");
+
+        // 같은 상품은 합치고 ID 순서로 정렬 (잠금 순서)
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        for (OrderRequest.Item line : request.getLines()) {
+            quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+        }
+
+        log.info("주문 생성 시작 - 상품: {}종, 고객: {}", quantities.size(), request.getCustomerName());
+
+        // 상품 조회 및 잠금
+        Map<Long, Product> products = stageTracer.observe("create", "product.fetch", () ->
+                productRepository.findAllByIdForUpdate(quantities.keySet()).stream()
+                        .collect(Collectors.toMap(Product::getId, product -> product)));
+        quantities.keySet().stream()
+                .filter(productId -> !products.containsKey(productId))
+                .findFirst()
+                .ifPresent(productId -> {
+                    throw new ProductNotFoundException(productId);
+                });
+
+        log.debug("상품 조회 완료 - {}종", products.size());
+
+        // 재고 확인 및 차감 (배치 UPDATE 로 반영)
+        Map<Long, Integer> previousStocks = new HashMap<>();
+        List<OrderItem> items = new ArrayList<>();
+        stageTracer.run("create", "stock.update", () -> {
+            quantities.forEach((productId, quantity) -> {
+                Product product = products.get(productId);
+                previousStocks.put(productId, product.getStock());
+                product.decreaseStock(quantity);
+                items.add(OrderItem.create(product, quantity));
+            });
+            productRepository.flush();
+        });
+        log.debug("재고 차감 완료 - {}종", items.size());
 
         // 주문 생성
         Order order = Order.create(
-                product,
-                request.getQuantity(),
+                items,
                 request.getCustomerName(),
                 request.getCustomerEmail(),
                 request.getDeliveryAddress()
         );
 
-        Order saved = orderRepository.save(order);
+        Order saved = stageTracer.observe("create", "order.insert", () -> orderRepository.saveAndFlush(order));
 
-        // 결제 처리 (외부 API 호출 시뮬레이션)
-        boolean paymentSuccess = paymentService.processPayment(
-                saved.getOrderNumber(),
-                saved.getTotalAmount()
-        );
+        OrderResponse response = OrderResponse.from(saved);
+        publish(OrderEvent.Type.CREATED, null, response);
+        previousStocks.forEach((productId, previousStock) -> {
+            Product product = products.get(productId);
+            eventPublisher.publishEvent(ProductChangedEvent.stockChanged(
+                    productId, product.getCategory(), previousStock, product.getStock(),
+                    transactionVisibility.currentTransactionId()));
+        });
 
-        if (!paymentSuccess) {
-            // 결제 실패 시 재고 복구
-            product.increaseStock(request.getQuantity());
-            throw new IllegalStateException("결제 처리에 실패했습니다");
-        }
+        return response;
+    }
 
-        //메트릭 증가!
-        orderCreatedCounter.increment();
-        orderAmountSummary.record(order.getTotalAmount()); // 금액 기록!
+    /**
+     * 결제 승인된 주문을 대기 상태로 변경 (그 사이 만료 작업이 먼저 취소했으면 null)
+     */
+    private OrderResponse markPaid(Long orderId) {
+        Order order = orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new OrderNotFoundException(orderId));
+        if (order.getStatus() != OrderStatus.AWAITING_PAYMENT) {
+            return null;
+        }
 
-        log.info("주문 생성 완료 - 주문ID: {}, 주문번호: {}, 금액: {}원",
-                saved.getId(), saved.getOrderNumber(), saved.getTotalAmount());
+        order.paymentApproved();
+        OrderResponse response = OrderResponse.from(order);
+        publish(OrderEvent.Type.PAID, OrderStatus.AWAITING_PAYMENT, response);
+        return response;
+    }
 
-        return OrderResponse.from(saved);
+    /**
+     * 결제가 거절된 주문 취소 + 재고 복구 (보상 트랜잭션)
+     * 그 사이 만료 작업이 먼저 취소했으면 아무것도 하지 않음
+     */
+    private void release(Long orderId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Order order = orderRepository.findByIdForUpdate(orderId)
+                    .orElseThrow(() -> new OrderNotFoundException(orderId));
+            if (order.getStatus() != OrderStatus.AWAITING_PAYMENT) {
+                return;
+            }
+
+            order.cancel();
+            restoreStock("create", order);
+            publish(OrderEvent.Type.CANCELLED, OrderStatus.AWAITING_PAYMENT, OrderResponse.from(order));
+            log.warn("결제 실패로 주문 취소 - 주문번호: {}", order.getOrderNumber());
+        });
     }
 
     /**
@@ -176,14 +325,19 @@ public class OrderService {
     public OrderResponse confirm(Long id) {
         log.info("주문 확인 - ID: {}", id);
 
-        Order order = orderRepository.findById(id)
+        // 대기 주문은 만료 작업과 경합하므로 잠그고 변경 (결제 대기 주문은 confirm 에서 거절)
+        Order order = orderRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new OrderNotFoundException(id));
 
+        OrderStatus previousStatus = order.getStatus();
         order.confirm();
 
         log.info("주문 확인 완료 - 주문번호: {}", order.getOrderNumber());
 
-        return OrderResponse.from(order);
+        OrderResponse response = OrderResponse.from(order);
+        publish(OrderEvent.Type.CONFIRMED, previousStatus, response);
+
+        return response;
     }
 
     /**
@@ -196,11 +350,15 @@ public class OrderService {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new OrderNotFoundException(id));
 
+        OrderStatus previousStatus = order.getStatus();
         order.ship();
 
         log.info("배송 시작 완료 - 주문번호: {}", order.getOrderNumber());
 
-        return OrderResponse.from(order);
+        OrderResponse response = OrderResponse.from(order);
+        publish(OrderEvent.Type.SHIPPED, previousStatus, response);
+
+        return response;
     }
 
     /**
@@ -213,50 +371,95 @@ public class OrderService {
         Order order = orderRepository.findById(id)
                 .orElseThrow(() -> new OrderNotFoundException(id));
 
+        OrderStatus previousStatus = order.getStatus();
         order.deliver();
 
         log.info("배송 완료 처리 - 주문번호: {}", order.getOrderNumber());
 
-        return OrderResponse.from(order);
+        OrderResponse response = OrderResponse.from(order);
+        publish(OrderEvent.Type.DELIVERED, previousStatus, response);
+
+        return response;
     }
 
     /**
      * 주문 취소
+     * 취소와 재고 복구를 커밋한 뒤 잠금 없이 환불을 요청합니다 (환불 실패는 기록만 함).
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public OrderResponse cancel(Long id) {
-        log.info("주문 취소 시작 - ID: {}", id);
+        OrderResponse cancelled = transactionTemplate.execute(status -> {
+            stageTracer.observeCommit("cancel");
 
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new OrderNotFoundException(id));
+            log.info("주문 취소 시작 - ID: {}", id);
 
-        if (!order.isCancellable()) {
-            throw new IllegalStateException("취소할 수 없는 주문입니다");
-        }
+            Order order = stageTracer.observe("cancel", "order.fetch", () -> orderRepository.findByIdForUpdate(id))
+                    .orElseThrow(() -> new OrderNotFoundException(id));
 
-        // 주문 취소
-        order.cancel();
+            if (!order.isCancellable()) {
+                throw new IllegalStateException("취소할 수 없는 주문입니다");
+            }
 
-        // 재고 복구
-        order.getProduct().increaseStock(order.getQuantity());
+            // 주문 취소
+            OrderStatus previousStatus = order.getStatus();
+            order.cancel();
+            restoreStock("cancel", order);
 
-        // 환불 처리 (외부 API 호출 시뮬레이션)
-        boolean refundSuccess = paymentService.refund(
-                order.getOrderNumber(),
-                order.getTotalAmount()
-        );
+            OrderResponse response = OrderResponse.from(order);
+            publish(OrderEvent.Type.CANCELLED, previousStatus, response);
+            return response;
+        });
+
+        // 환불 처리 (외부 API 호출)
+        boolean refundSuccess = stageTracer.observe("cancel", "refund", () -> paymentService.refund(
+                cancelled.getOrderNumber(),
+                cancelled.getTotalAmount()
+        ));
 
         if (!refundSuccess) {
-            log.warn("환불 처리 실패 - 주문번호: {}", order.getOrderNumber());
+            log.warn("환불 처리 실패 - 주문번호: {}", cancelled.getOrderNumber());
         }
 
         // 메트릭 증가!
         orderCancelledCounter.increment();
 
         log.info("주문 취소 완료 - 주문번호: {}, 환불금액: {}원",
-                order.getOrderNumber(), order.getTotalAmount());
+                cancelled.getOrderNumber(), cancelled.getTotalAmount());
 
-        return OrderResponse.from(order);
+        return cancelled;
+    }
+
+    /**
+     * 취소한 주문의 재고 복구 (생성과 같은 ID 순서로 잠금)
+     */
+    private void restoreStock(String operation, Order order) {
+        Map<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItem item : order.getItems()) {
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+        }
+        List<Product> products = stageTracer.observe(operation, "product.fetch", () ->
+                productRepository.findAllByIdForUpdate(quantities.keySet()));
+        Map<Long, Integer> previousStocks = new HashMap<>();
+        stageTracer.run(operation, "stock.update", () -> {
+            for (Product product : products) {
+                previousStocks.put(product.getId(), product.getStock());
+                product.increaseStock(quantities.get(product.getId()));
+            }
+            productRepository.flush();
+        });
+        for (Product product : products) {
+            eventPublisher.publishEvent(ProductChangedEvent.stockChanged(
+                    product.getId(), product.getCategory(), previousStocks.get(product.getId()), product.getStock(),
+                    transactionVisibility.currentTransactionId()));
+        }
+    }
+
+    /**
+     * 주문 이벤트 발행 (커밋 이후 리스너에서 처리)
+     */
+    private void publish(OrderEvent.Type type, OrderStatus previousStatus, OrderResponse response) {
+        eventPublisher.publishEvent(OrderEvent.of(type, previousStatus, response,
+                transactionVisibility.currentTransactionId()));
     }
 }
 
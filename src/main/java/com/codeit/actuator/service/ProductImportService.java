@@ -0,0 +1,354 @@
+package com.codeit.actuator.service;
+
+import com.codeit.actuator.dto.ProductImportResult;
+import com.codeit.actuator.dto.ProductImportRow;
+import com.codeit.actuator.event.ProductsBulkChangedEvent;
+import com.codeit.actuator.repository.ProductRepository;
+import com.codeit.actuator.repository.ProductUpsertRow;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvFactory;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvReadException;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상품 일괄 등록/수정 (카탈로그 동기화)
+ *
+ * JSON(배열 또는 줄 단위 객체)이나 헤더가 있는 CSV 를 Jackson 스트리밍 파서로 한 행씩 읽고,
+ * batch-size 행씩 모아 sku 기준 INSERT ... ON CONFLICT 한 문장으로 반영합니다.
+ * 입력을 한꺼번에 메모리에 올리지 않으므로 행 수와 관계없이 메모리 사용량이 일정합니다.
+ * 배치마다 커밋하고, 잘못된 행은 건너뛰면서 행 번호와 이유를 결과에 담습니다.
+ * 배치가 DB 오류로 실패하면 그 배치만 한 행씩 다시 반영해서 실패한 행을 찾습니다.
+ *
+ * 배치 안의 행은 sku 순으로 정렬해서 반영하므로, 동시에 들어온 일괄 반영끼리 행 잠금 순서가 같아 교착이 생기지 않습니다.
+ * 주문 처리처럼 다른 순서로 상품 행을 잠그는 트랜잭션과 교착되면 배치를 그대로 다시 시도합니다.
+ */
+@Service
+@Slf4j
+public class ProductImportService {
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final JsonFactory jsonFactory;
+    private final CsvFactory csvFactory = new CsvFactory().enable(CsvParser.Feature.TRIM_SPACES);
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final int deadlockRetries;
+
+    private final Counter insertedCounter;
+    private final Counter updatedCounter;
+    private final Counter failedCounter;
+    private final Counter supersededCounter;
+    private final Counter deadlockRetryCounter;
+
+    public ProductImportService(ProductRepository productRepository,
+                                ApplicationEventPublisher eventPublisher,
+                                PlatformTransactionManager transactionManager,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.product-import.batch-size:1000}") int batchSize,
+                                @Value("${app.product-import.max-reported-errors:100}") int maxReportedErrors,
+                                @Value("${app.product-import.deadlock-retries:3}") int deadlockRetries) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.jsonFactory = objectMapper.getFactory();
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.deadlockRetries = deadlockRetries;
+
+        this.insertedCounter = importCounter("inserted", meterRegistry);
+        this.updatedCounter = importCounter("updated", meterRegistry);
+        this.failedCounter = importCounter("failed", meterRegistry);
+        this.supersededCounter = importCounter("superseded", meterRegistry);
+        this.deadlockRetryCounter = Counter.builder("products.import.deadlock.retries")
+                .description("Import batches retried after losing a deadlock")
+                .register(meterRegistry);
+    }
+
+    /**
+     * JSON 입력 반영 ([{...}, {...}] 배열 또는 줄마다 객체 하나)
+     */
+    public ProductImportResult importJson(InputStream input) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+            return importRows(parser, "JSON");
+        }
+    }
+
+    /**
+     * CSV 입력 반영 (첫 줄은 sku,name,description,price,stock,category 중 필요한 열 이름)
+     */
+    public ProductImportResult importCsv(InputStream input) throws IOException {
+        try (CsvParser parser = csvFactory.createParser(input)) {
+            parser.setSchema(CsvSchema.emptySchema().withHeader());
+            return importRows(parser, "CSV");
+        }
+    }
+
+    private ProductImportResult importRows(JsonParser parser, String format) throws IOException {
+        log.info("상품 일괄 반영 시작 - 형식: {}, 배치: {}행", format, batchSize);
+
+        ImportRun run = new ImportRun();
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.START_ARRAY) {
+                token = parser.nextToken();
+            }
+            while (token != null && token != JsonToken.END_ARRAY) {
+                long row = ++run.rows;
+                if (token == JsonToken.START_OBJECT) {
+                    readRow(parser, run, row);
+                } else {
+                    parser.skipChildren();
+                    run.fail(row, parser.currentTokenLocation().getLineNr(), null, "행은 객체여야 합니다");
+                }
+                token = parser.nextToken();
+            }
+        } catch (JsonProcessingException e) {
+            // 형식이 깨진 뒤로는 행 경계를 알 수 없으므로 중단 (이미 읽은 행은 반영)
+            int line = e.getLocation() != null ? e.getLocation().getLineNr() : -1;
+            run.abortReason = String.format("%d번째 줄에서 입력 형식 오류: %s", line, e.getOriginalMessage());
+            log.warn("상품 일괄 반영 중단 - {}", run.abortReason);
+        }
+        run.flush();
+
+        ProductImportResult result = run.result();
+        log.info("상품 일괄 반영 완료 - {}행, 등록: {}, 수정: {}, 실패: {}, 대체됨: {}, {}초 (초당 {}행)",
+                result.getRows(), result.getInserted(), result.getUpdated(), result.getFailed(), result.getSuperseded(),
+                String.format("%.2f", result.getSeconds()), String.format("%.0f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    /**
+     * 객체 하나를 읽어 검증 후 배치에 추가 (모르는 필드는 무시)
+     * 행 번호는 첫 필드 위치 기준 (CSV 파서는 행 시작 토큰을 앞 줄 끝에 둠)
+     */
+    private void readRow(JsonParser parser, ImportRun run, long row) throws IOException {
+        ProductImportRow product = new ProductImportRow();
+        List<String> problems = new ArrayList<>();
+        int line = parser.currentTokenLocation().getLineNr();
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.FIELD_NAME) {
+                line = parser.currentTokenLocation().getLineNr();
+            }
+            for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "sku" -> product.setSku(text(parser, field, problems));
+                    case "name" -> product.setName(text(parser, field, problems));
+                    case "description" -> product.setDescription(text(parser, field, problems));
+                    case "price" -> product.setPrice(integer(parser, field, problems));
+                    case "stock" -> product.setStock(integer(parser, field, problems));
+                    case "category" -> product.setCategory(text(parser, field, problems));
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (CsvReadException e) {
+            // CSV 는 줄 단위라 열 개수가 맞지 않아도 다음 행부터 이어서 읽을 수 있음
+            problems.add(e.getOriginalMessage());
+            JsonToken token;
+            do {
+                token = parser.nextToken();
+            } while (token != null && token != JsonToken.END_OBJECT);
+        }
+
+        if (problems.isEmpty()) {
+            validator.validate(product).forEach(violation ->
+                    problems.add(violation.getPropertyPath() + ": " + violation.getMessage()));
+        }
+        if (problems.isEmpty()) {
+            run.add(product, row, line);
+        } else {
+            problems.sort(null);
+            run.fail(row, line, product.getSku(), String.join(", ", problems));
+        }
+    }
+
+    /**
+     * 문자열 값 (CSV 의 빈 칸은 값 없음)
+     */
+    private static String text(JsonParser parser, String field, List<String> problems) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token.isScalarValue()) {
+            String text = parser.getText();
+            return text.isEmpty() ? null : text;
+        }
+        parser.skipChildren();
+        problems.add(field + ": 문자열이어야 합니다");
+        return null;
+    }
+
+    /**
+     * 정수 값 (CSV 는 문자열로 들어오므로 변환)
+     */
+    private static Integer integer(JsonParser parser, String field, List<String> problems) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == JsonParser.NumberType.INT) {
+            return parser.getIntValue();
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            String text = parser.getText().trim();
+            if (text.isEmpty()) {
+                return null;
+            }
+            try {
+                return Integer.valueOf(text);
+            } catch (NumberFormatException e) {
+                // 아래에서 처리
+            }
+        }
+        parser.skipChildren();
+        problems.add(field + ": 정수여야 합니다");
+        return null;
+    }
+
+    private static Counter importCounter(String outcome, MeterRegistry meterRegistry) {
+        return Counter.builder("products.import.rows")
+                .description("Rows processed by the bulk product import")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 입력 하나의 진행 상태 (배치 하나와 보고할 오류만 메모리에 둠)
+     */
+    private class ImportRun {
+
+        private final long startedAt = System.nanoTime();
+        // 같은 배치에서 sku 가 반복되면 마지막 행만 반영하고 앞 행은 superseded 로 셈 (한 문장에서 같은 행을 두 번 고칠 수 없음)
+        private final Map<String, PendingRow> batch = new LinkedHashMap<>();
+        private final List<ProductImportResult.RowError> errors = new ArrayList<>();
+
+        private long rows;
+        private long inserted;
+        private long updated;
+        private long failed;
+        private long superseded;
+        private String abortReason;
+
+        void add(ProductImportRow product, long row, int line) {
+            if (batch.put(product.getSku(), new PendingRow(row, line, product)) != null) {
+                superseded++;
+                supersededCounter.increment();
+            }
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void fail(long row, int line, String sku, String message) {
+            failed++;
+            failedCounter.increment();
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ProductImportResult.RowError(row, line, sku, message));
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            // 잠금 순서를 sku 순으로 고정
+            List<PendingRow> pending = new ArrayList<>(batch.values());
+            pending.sort(Comparator.comparing(row -> row.product().getSku()));
+            batch.clear();
+            try {
+                apply(pending);
+            } catch (DataAccessException e) {
+                log.warn("일괄 반영 실패 - 배치 {}행을 한 행씩 다시 반영: {}", pending.size(), e.getMostSpecificCause().getMessage());
+                for (PendingRow row : pending) {
+                    try {
+                        apply(List.of(row));
+                    } catch (DataAccessException rowError) {
+                        fail(row.row(), row.line(), row.product().getSku(), rowError.getMostSpecificCause().getMessage());
+                    }
+                }
+            }
+        }
+
+        /**
+         * 교착으로 롤백되면 deadlock-retries 번까지 같은 배치를 다시 반영
+         */
+        private void apply(List<PendingRow> pending) {
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    applyOnce(pending);
+                    return;
+                } catch (PessimisticLockingFailureException e) {
+                    if (attempt >= deadlockRetries) {
+                        throw e;
+                    }
+                    deadlockRetryCounter.increment();
+                    log.warn("일괄 반영 교착 - 배치 {}행 재시도 ({}/{}): {}", pending.size(), attempt + 1, deadlockRetries,
+                            e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+
+        /**
+         * 한 트랜잭션으로 반영하고 커밋 이후 카탈로그 버전/재고 게이지가 갱신되도록 이벤트 발행
+         */
+        private void applyOnce(List<PendingRow> pending) {
+            List<ProductUpsertRow> upserted = transactionTemplate.execute(status -> {
+                List<ProductUpsertRow> rows = productRepository.upsertBySku(
+                        pending.stream().map(PendingRow::product).toList());
+                eventPublisher.publishEvent(new ProductsBulkChangedEvent(
+                        rows.stream().map(ProductUpsertRow::id).toList()));
+                return rows;
+            });
+            for (ProductUpsertRow row : upserted) {
+                if (row.inserted()) {
+                    inserted++;
+                    insertedCounter.increment();
+                } else {
+                    updated++;
+                    updatedCounter.increment();
+                }
+            }
+        }
+
+        ProductImportResult result() {
+            double seconds = (System.nanoTime() - startedAt) / 1e9;
+            return new ProductImportResult(rows, inserted, updated, failed, superseded, abortReason == null, abortReason,
+                    seconds, rows / Math.max(seconds, 1e-9), errors);
+        }
+    }
+
+    private record PendingRow(long row, int line, ProductImportRow product) {
+    }
+}
@@ -1,18 +1,24 @@
 package com.codeit.actuator.service;
 
 import com.codeit.actuator.domain.Product;
+import com.codeit.actuator.dto.ProductField;
 import com.codeit.actuator.dto.ProductRequest;
 import com.codeit.actuator.dto.ProductResponse;
+import com.codeit.actuator.event.ProductChangedEvent;
+import com.codeit.actuator.event.TransactionVisibility;
 import com.codeit.actuator.exception.ProductNotFoundException;
 import com.codeit.actuator.repository.ProductRepository;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -24,11 +30,17 @@ import java.util.stream.Collectors;
 public class ProductService {
     
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionVisibility transactionVisibility;
     private final Timer findProductTimer;
 
     public ProductService(ProductRepository productRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          TransactionVisibility transactionVisibility,
                           MeterRegistry meterRegistry) {
         this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionVisibility = transactionVisibility;
         this.findProductTimer = Timer.builder("products.find.time")
                 .description("Time taken to find a product")
                 .tag("operation", "findById")
@@ -50,6 +62,19 @@ public class ProductService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * 선택한 필드만 조회 (category, keyword 가 null 이면 조건 없음)
+     */
+    public List<Map<String, Object>> findFields(Set<ProductField> fields, String category, String keyword) {
+        log.debug("상품 필드 조회 - 필드: {}, 카테고리: {}, 키워드: {}", ProductField.toString(fields), category, keyword);
+        
+        List<Map<String, Object>> products = productRepository.findFields(fields, category, keyword);
+        
+        log.debug("조회된 상품 개수: {}", products.size());
+        
+        return products;
+    }
+    
     /**
      * 상품 ID로 조회
      */
@@ -112,6 +137,8 @@ public class ProductService {
         );
         
         Product saved = productRepository.save(product);
+        eventPublisher.publishEvent(ProductChangedEvent.created(
+                saved.getId(), saved.getCategory(), saved.getStock(), transactionVisibility.currentTransactionId()));
         
         log.info("상품 등록 완료 - ID: {}, 이름: {}", saved.getId(), saved.getName());
         
@@ -128,6 +155,9 @@ public class ProductService {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
         
+        String previousCategory = product.getCategory();
+        Integer previousStock = product.getStock();
+        
         product.update(
                 request.getName(),
                 request.getDescription(),
@@ -135,6 +165,9 @@ public class ProductService {
                 request.getStock(),
                 request.getCategory()
         );
+        eventPublisher.publishEvent(new ProductChangedEvent(
+                product.getId(), previousCategory, previousStock, product.getCategory(), product.getStock(),
+                transactionVisibility.currentTransactionId()));
         
         log.info("상품 수정 완료 - ID: {}, 이름: {}", product.getId(), product.getName());
         
@@ -152,6 +185,8 @@ public class ProductService {
                 .orElseThrow(() -> new ProductNotFoundException(id));
         
         productRepository.delete(product);
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(
+                product.getId(), product.getCategory(), product.getStock(), transactionVisibility.currentTransactionId()));
         
         log.info("상품 삭제 완료 - ID: {}", id);
     }
@@ -0,0 +1,267 @@
+package com.codeit.actuator.sse;
+
+import com.codeit.actuator.domain.OrderStatus;
+import com.codeit.actuator.dto.OrderResponse;
+import com.codeit.actuator.event.OrderEvent;
+import com.codeit.actuator.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * 주문 상태 SSE 허브
+ *
+ * 주문 ID 별 구독자에게 커밋된 상태 변경을 보냅니다.
+ * 구독자마다 보낼 값은 가장 최신 상태 하나만 보관하므로(중간 상태는 덮어씀) 느린 클라이언트가 있어도
+ * 구독자당 메모리가 늘어나지 않고, 실제 전송은 소수의 전송 스레드가 나눠서 처리합니다.
+ * 유휴 연결은 Tomcat 요청 스레드를 점유하지 않으며, 주기적인 heartbeat 로 끊긴 연결을 정리합니다.
+ */
+@Component
+@Slf4j
+public class OrderStatusHub {
+
+    private static final String STATUS_EVENT = "status";
+    private static final Object HEARTBEAT = new Object();
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService dispatcher;
+    private final int maxSubscribers;
+    private final int maxSubscribersPerOrder;
+    private final long timeoutMillis;
+
+    private final Counter sentCounter;
+    private final Counter droppedCounter;
+
+    public OrderStatusHub(MeterRegistry meterRegistry,
+                          @Value("${app.sse.max-subscribers:100000}") int maxSubscribers,
+                          @Value("${app.sse.max-subscribers-per-order:16}") int maxSubscribersPerOrder,
+                          @Value("${app.sse.timeout:PT30M}") Duration timeout,
+                          @Value("${app.sse.dispatch-threads:4}") int dispatchThreads) {
+        this.maxSubscribers = maxSubscribers;
+        this.maxSubscribersPerOrder = maxSubscribersPerOrder;
+        this.timeoutMillis = timeout.toMillis();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-dispatch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("orders.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open order status SSE connections")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("orders.stream.sent")
+                .description("Order status events pushed to SSE subscribers")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("orders.stream.disconnected")
+                .description("SSE subscribers removed after a failed send")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 주문 상태 구독
+     *
+     * 먼저 구독을 등록한 뒤 현재 상태를 조회해서 보내므로, 조회와 구독 사이의 변경도 놓치지 않습니다.
+     *
+     * @param orderId  주문 ID
+     * @param snapshot 현재 주문 상태 조회 (주문이 없으면 예외)
+     */
+    public SseEmitter subscribe(Long orderId, Supplier<OrderResponse> snapshot) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ConcurrencyLimitExceededException("order-stream");
+        }
+
+        // 한도 확인과 추가를 주문 ID 단위로 원자적으로 (remove 의 computeIfPresent 와도 겹치지 않음)
+        Subscriber subscriber = new Subscriber(orderId, new SseEmitter(timeoutMillis));
+        AtomicBoolean added = new AtomicBoolean();
+        subscribers.compute(orderId, (id, orderSubscribers) -> {
+            Set<Subscriber> current = orderSubscribers != null ? orderSubscribers : ConcurrentHashMap.newKeySet();
+            if (current.size() < maxSubscribersPerOrder) {
+                current.add(subscriber);
+                added.set(true);
+            }
+            return current.isEmpty() ? null : current;
+        });
+        if (!added.get()) {
+            subscriberCount.decrementAndGet();
+            throw new ConcurrencyLimitExceededException("order-stream");
+        }
+
+        subscriber.emitter.onCompletion(() -> remove(subscriber));
+        subscriber.emitter.onTimeout(() -> remove(subscriber));
+        subscriber.emitter.onError(e -> remove(subscriber));
+
+        try {
+            subscriber.offer(snapshot.get());
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        return subscriber.emitter;
+    }
+
+    /**
+     * 커밋된 상태 변경 전달
+     */
+    @TransactionalEventListener
+    public void onOrderEvent(OrderEvent event) {
+        Set<Subscriber> orderSubscribers = subscribers.get(event.order().getId());
+        if (orderSubscribers == null) {
+            return;
+        }
+        orderSubscribers.forEach(subscriber -> subscriber.offer(event.order()));
+    }
+
+    /**
+     * 보낼 상태가 없는 구독자에게 heartbeat (프록시 유휴 연결 종료 방지, 끊긴 연결 감지)
+     */
+    @Scheduled(fixedRateString = "${app.sse.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        subscribers.values().forEach(orderSubscribers ->
+                orderSubscribers.forEach(Subscriber::offerHeartbeat));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribers.values().forEach(orderSubscribers ->
+                orderSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        dispatcher.shutdown();
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.orderId, (id, orderSubscribers) -> {
+            orderSubscribers.remove(subscriber);
+            return orderSubscribers.isEmpty() ? null : orderSubscribers;
+        });
+    }
+
+    private static boolean isNewer(OrderResponse candidate, OrderResponse current) {
+        if (current.getUpdatedAt() == null || candidate.getUpdatedAt() == null) {
+            return true;
+        }
+        return !candidate.getUpdatedAt().isBefore(current.getUpdatedAt());
+    }
+
+    private static boolean isFinal(OrderStatus status) {
+        return status == OrderStatus.DELIVERED || status == OrderStatus.CANCELLED;
+    }
+
+    /**
+     * 구독자 (SSE 연결 하나)
+     */
+    private final class Subscriber {
+        final Long orderId;
+        final SseEmitter emitter;
+        final AtomicReference<Object> pending = new AtomicReference<>(); // 보낼 최신 상태 또는 HEARTBEAT
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        final AtomicBoolean removed = new AtomicBoolean();
+        volatile OrderResponse lastSent;
+
+        Subscriber(Long orderId, SseEmitter emitter) {
+            this.orderId = orderId;
+            this.emitter = emitter;
+        }
+
+        void offer(OrderResponse order) {
+            // 조회 결과(스냅샷)가 이벤트보다 늦게 도착해도 더 오래된 상태로 덮어쓰지 않음
+            pending.accumulateAndGet(order, (current, next) ->
+                    current instanceof OrderResponse queued && !isNewer((OrderResponse) next, queued) ? current : next);
+            schedule();
+        }
+
+        void offerHeartbeat() {
+            if (pending.compareAndSet(null, HEARTBEAT)) {
+                schedule();
+            }
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        /**
+         * scheduled 를 잡은 스레드 하나만 실행
+         * pending 이 빌 때까지 보내고 scheduled 를 마지막에 내린 뒤, 그 사이 들어온 값이 있으면 다시 잡아서 이어서 보냄
+         */
+        private void drain() {
+            do {
+                Object next;
+                while ((next = pending.getAndSet(null)) != null) {
+                    if (removed.get() || !send(next)) {
+                        scheduled.set(false);
+                        return;
+                    }
+                }
+                scheduled.set(false);
+            } while (pending.get() != null && scheduled.compareAndSet(false, true));
+        }
+
+        /**
+         * @return 연결이 아직 유효하면 true
+         */
+        private boolean send(Object next) {
+            try {
+                if (next == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    return true;
+                }
+                OrderResponse order = (OrderResponse) next;
+                if (lastSent != null && !isNewer(order, lastSent)) {
+                    return true;
+                }
+                emitter.send(SseEmitter.event()
+                        .name(STATUS_EVENT)
+                        .id(order.getStatus().name())
+                        .data(order));
+                lastSent = order;
+                sentCounter.increment();
+
+                // 더 이상 바뀌지 않는 상태면 연결 종료
+                if (isFinal(order.getStatus())) {
+                    emitter.complete();
+                    remove(this);
+                    return false;
+                }
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                log.debug("주문 상태 전송 실패, 구독 해제 - 주문 ID: {}", orderId);
+                droppedCounter.increment();
+                emitter.completeWithError(e);
+                remove(this);
+                return false;
+            }
+        }
+    }
+}
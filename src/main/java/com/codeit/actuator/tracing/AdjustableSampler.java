@@ -0,0 +1,42 @@
+package com.codeit.actuator.tracing;
+
+import brave.sampler.Sampler;
+
+/**
+ * 실행 중에 비율을 바꿀 수 있는 확률 샘플러
+ *
+ * trace ID 로 결정하므로 같은 trace 는 어느 인스턴스에서도 같은 결과가 나옵니다.
+ */
+public class AdjustableSampler extends Sampler {
+
+    private static final long PRECISION = 10_000;
+
+    private volatile double probability;
+
+    public AdjustableSampler(double probability) {
+        setProbability(probability);
+    }
+
+    @Override
+    public boolean isSampled(long traceId) {
+        double current = probability;
+        if (current <= 0) {
+            return false;
+        }
+        if (current >= 1) {
+            return true;
+        }
+        return (traceId & Long.MAX_VALUE) % PRECISION < current * PRECISION;
+    }
+
+    public double getProbability() {
+        return probability;
+    }
+
+    public void setProbability(double probability) {
+        if (probability < 0 || probability > 1) {
+            throw new IllegalArgumentException("샘플링 비율은 0 ~ 1 사이여야 합니다: " + probability);
+        }
+        this.probability = probability;
+    }
+}
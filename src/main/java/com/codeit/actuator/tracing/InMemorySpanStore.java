@@ -0,0 +1,195 @@
+package com.codeit.actuator.tracing;
+
+import brave.Span;
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 메모리 span 저장소
+ *
+ * 모든 요청의 span 을 로컬에서 기록하고(alwaysSampleLocal), 요청(SERVER span)이 끝날 때 보관 여부를 정합니다.
+ * 샘플링된 요청, 느린 요청, 실패한 요청만 남기므로 샘플링 비율이 낮아도 꼬리 지연 요청의 단계별 시간은 항상 볼 수 있습니다.
+ * trace ID 로 나눈 구간(stripe)마다 따로 잠그므로 요청 스레드끼리는 같은 구간의 trace 를 끝낼 때만 기다립니다.
+ * 구간마다 오래된 trace 부터 버리며 전체로 최대 maxTraces 개 정도를 보관합니다.
+ */
+public class InMemorySpanStore extends SpanHandler {
+
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private volatile long slowThresholdMicros;
+
+    public InMemorySpanStore(int maxTraces, Duration slowThreshold) {
+        setSlowThreshold(slowThreshold);
+
+        int tracesPerStripe = Math.max(1, (maxTraces + STRIPES - 1) / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(tracesPerStripe, tracesPerStripe * 10); // 루트가 끝나지 않은 trace 가 쌓이지 않도록
+        }
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause == Cause.ABANDONED) {
+            return true;
+        }
+        String traceId = context.traceIdString();
+        Stripe stripe = stripe(traceId);
+        StoredSpan stored = StoredSpan.from(context, span);
+        if (!context.isLocalRoot()) {
+            synchronized (stripe) {
+                stripe.pending.computeIfAbsent(traceId, id -> new ArrayList<>()).add(stored);
+            }
+            return true;
+        }
+
+        List<StoredSpan> spans;
+        synchronized (stripe) {
+            spans = stripe.pending.remove(traceId);
+        }
+        if (span.kind() != Span.Kind.SERVER) {
+            return true; // 스케줄 작업 등 요청이 아닌 trace 는 보관하지 않음
+        }
+        boolean sampled = Boolean.TRUE.equals(context.sampled());
+        if (sampled || stored.durationMicros() >= slowThresholdMicros || stored.error() != null) {
+            // 꺼낸 목록은 이 스레드만 보므로 잠금 밖에서 정렬/요약
+            List<StoredSpan> all = spans != null ? spans : new ArrayList<>();
+            all.add(stored);
+            all.sort(Comparator.comparingLong(StoredSpan::startMicros));
+            StoredTrace trace = new StoredTrace(TraceSummary.of(traceId, stored, sampled, all), List.copyOf(all));
+            synchronized (stripe) {
+                stripe.traces.put(traceId, trace);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 최근 trace 목록 (최신순)
+     */
+    public List<TraceSummary> recent(Duration minDuration, String name, int limit) {
+        long minMicros = minDuration.toNanos() / 1000;
+        List<TraceSummary> matched = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            List<StoredTrace> stored;
+            synchronized (stripe) {
+                stored = new ArrayList<>(stripe.traces.values());
+            }
+            for (StoredTrace trace : stored) {
+                TraceSummary summary = trace.summary();
+                if (summary.durationMicros() >= minMicros && (name == null || summary.name().contains(name))) {
+                    matched.add(summary);
+                }
+            }
+        }
+        matched.sort(Comparator.comparing(TraceSummary::startedAt).reversed());
+        return matched.size() > limit ? List.copyOf(matched.subList(0, limit)) : matched;
+    }
+
+    public List<StoredSpan> spans(String traceId) {
+        Stripe stripe = stripe(traceId);
+        StoredTrace trace;
+        synchronized (stripe) {
+            trace = stripe.traces.get(traceId);
+        }
+        return trace != null ? trace.spans() : null;
+    }
+
+    private Stripe stripe(String traceId) {
+        return stripes[Math.floorMod(traceId.hashCode(), STRIPES)];
+    }
+
+    public Duration getSlowThreshold() {
+        return Duration.ofNanos(slowThresholdMicros * 1000);
+    }
+
+    public void setSlowThreshold(Duration slowThreshold) {
+        this.slowThresholdMicros = slowThreshold.toNanos() / 1000;
+    }
+
+    public record StoredSpan(String spanId,
+                             String parentId,
+                             String name,
+                             String kind,
+                             long startMicros,
+                             long durationMicros,
+                             Map<String, String> tags,
+                             String error) {
+
+        static StoredSpan from(TraceContext context, MutableSpan span) {
+            Map<String, String> tags = new LinkedHashMap<>();
+            span.forEachTag((target, key, value) -> target.put(key, value), tags);
+            String error = span.error() != null ? span.error().toString() : span.tag("error");
+            return new StoredSpan(
+                    context.spanIdString(),
+                    context.parentIdString(),
+                    span.name(),
+                    span.kind() != null ? span.kind().name() : null,
+                    span.startTimestamp(),
+                    span.finishTimestamp() - span.startTimestamp(),
+                    tags,
+                    error);
+        }
+    }
+
+    /**
+     * trace 요약 (stages: 단계 span 이름 -> 소요 시간 ms)
+     */
+    public record TraceSummary(String traceId,
+                               String name,
+                               Instant startedAt,
+                               long durationMicros,
+                               boolean sampled,
+                               boolean error,
+                               int spanCount,
+                               Map<String, Double> stages) {
+
+        static TraceSummary of(String traceId, StoredSpan root, boolean sampled, List<StoredSpan> spans) {
+            Map<String, Double> stages = new LinkedHashMap<>();
+            for (StoredSpan span : spans) {
+                if (span.tags().containsKey("stage")) {
+                    stages.merge(span.name(), span.durationMicros() / 1000.0, Double::sum);
+                }
+            }
+            return new TraceSummary(traceId, root.name(),
+                    Instant.ofEpochSecond(0, root.startMicros() * 1000), root.durationMicros(),
+                    sampled, root.error() != null, spans.size(), stages);
+        }
+    }
+
+    private record StoredTrace(TraceSummary summary, List<StoredSpan> spans) {
+    }
+
+    /**
+     * trace ID 구간 하나 (아래 맵은 synchronized(stripe) 안에서만 사용)
+     */
+    private static class Stripe {
+
+        private final Map<String, List<StoredSpan>> pending;
+        private final Map<String, StoredTrace> traces;
+
+        Stripe(int maxTraces, int maxPending) {
+            this.pending = new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, List<StoredSpan>> eldest) {
+                    return size() > maxPending;
+                }
+            };
+            this.traces = new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, StoredTrace> eldest) {
+                    return size() > maxTraces;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.codeit.actuator.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * span 조회 엔드포인트 (/management/spans)
+ *
+ * GET  /management/spans?minDurationMs=500&name=orders - 최근 trace 와 단계별 시간
+ * GET  /management/spans/{traceId}                     - trace 의 모든 span
+ * POST /management/spans {"probability":0.5,"slowThresholdMs":300} - 샘플링 비율, 느린 요청 기준 변경
+ */
+@Endpoint(id = "spans")
+@RequiredArgsConstructor
+public class SpansEndpoint {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    private final InMemorySpanStore spanStore;
+    private final AdjustableSampler sampler;
+
+    @ReadOperation
+    public Map<String, Object> traces(@Nullable Long minDurationMs, @Nullable String name, @Nullable Integer limit) {
+        Map<String, Object> result = settings();
+        result.put("traces", spanStore.recent(
+                Duration.ofMillis(minDurationMs != null ? minDurationMs : 0),
+                name,
+                limit != null ? limit : DEFAULT_LIMIT));
+        return result;
+    }
+
+    @ReadOperation
+    public List<InMemorySpanStore.StoredSpan> trace(@Selector String traceId) {
+        return spanStore.spans(traceId);
+    }
+
+    @WriteOperation
+    public Map<String, Object> configure(@Nullable Double probability, @Nullable Long slowThresholdMs) {
+        if (probability != null) {
+            sampler.setProbability(probability);
+        }
+        if (slowThresholdMs != null) {
+            spanStore.setSlowThreshold(Duration.ofMillis(slowThresholdMs));
+        }
+        return settings();
+    }
+
+    private Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("probability", sampler.getProbability());
+        settings.put("slowThresholdMs", spanStore.getSlowThreshold().toMillis());
+        return settings;
+    }
+}
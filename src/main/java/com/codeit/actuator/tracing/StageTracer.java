@@ -0,0 +1,75 @@
+package com.codeit.actuator.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * 처리 단계별 Observation
+ *
+ * 단계마다 span 과 order.stage{operation, stage} 타이머가 함께 남아서, 요청이 느릴 때 어느 단계가 원인인지 볼 수 있습니다.
+ * 단계 안에서 호출한 서비스(결제 등)의 Observation 은 그 단계의 하위 span 이 됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class StageTracer {
+
+    static final String OBSERVATION_NAME = "order.stage";
+
+    private final ObservationRegistry observationRegistry;
+
+    public <T> T observe(String operation, String stage, Supplier<T> work) {
+        return stage(operation, stage, observationRegistry.getCurrentObservation()).observe(work);
+    }
+
+    public void run(String operation, String stage, Runnable work) {
+        stage(operation, stage, observationRegistry.getCurrentObservation()).observe(work);
+    }
+
+    /**
+     * 커밋 단계 기록 (BEFORE_COMMIT 리스너, flush, DB 커밋까지)
+     * 다른 트랜잭션 동기화보다 먼저 등록되도록 트랜잭션 시작 직후에 호출합니다.
+     */
+    public void observeCommit(String operation) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Observation parent = observationRegistry.getCurrentObservation();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+            private Observation commit;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commit = stage(operation, "commit", parent).start();
+            }
+
+            @Override
+            public void afterCommit() {
+                commit.stop();
+                commit = null;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (commit != null) {
+                    commit.error(new IllegalStateException("transaction rolled back during commit"));
+                    commit.stop();
+                }
+            }
+        });
+    }
+
+    private Observation stage(String operation, String stage, Observation parent) {
+        return Observation.createNotStarted(OBSERVATION_NAME, observationRegistry)
+                .contextualName(operation + " " + stage)
+                .lowCardinalityKeyValue("operation", operation)
+                .lowCardinalityKeyValue("stage", stage)
+                .parentObservation(parent);
+    }
+}
@@ -0,0 +1,39 @@
+package com.codeit.actuator.tracing;
+
+import brave.TracingCustomizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 트레이싱 설정
+ *
+ * Boot 기본 샘플러 대신 실행 중에 비율을 바꿀 수 있는 샘플러를 쓰고,
+ * 샘플링되지 않은 span 도 메모리 저장소까지는 전달되게 합니다 (보관 여부는 저장소에서 결정).
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public AdjustableSampler adjustableSampler(@Value("${management.tracing.sampling.probability:0.1}") double probability) {
+        return new AdjustableSampler(probability);
+    }
+
+    @Bean
+    public TracingCustomizer alwaysSampleLocal() {
+        return builder -> builder.alwaysSampleLocal();
+    }
+
+    @Bean
+    public InMemorySpanStore inMemorySpanStore(@Value("${app.tracing.span-store.max-traces:1000}") int maxTraces,
+                                               @Value("${app.tracing.span-store.slow-threshold:PT0.5S}") Duration slowThreshold) {
+        return new InMemorySpanStore(maxTraces, slowThreshold);
+    }
+
+    @Bean
+    public SpansEndpoint spansEndpoint(InMemorySpanStore inMemorySpanStore, AdjustableSampler adjustableSampler) {
+        return new SpansEndpoint(inMemorySpanStore, adjustableSampler);
+    }
+}
@@ -0,0 +1,164 @@
+package com.codeit.actuator.payment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HedgedPaymentClientTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HedgedPaymentClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) {
+            client.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("전체 대기 시간 안에 응답이 없으면 같은 멱등 키로 결제를 무효화하고, 확인되면 거절로 본다")
+    void voidsChargeWithSameKeyOnTimeout() {
+        StubGateway gateway = new StubGateway(attempt -> new CompletableFuture<>()); // 응답 없음
+        client = newClient(gateway, false);
+
+        PaymentOutcome outcome = client.charge("ORD-1", 10_000);
+
+        assertThat(outcome).isEqualTo(PaymentOutcome.DECLINED);
+        assertThat(gateway.voided).isCompletedWithValue("charge:ORD-1");
+        assertThat(gateway.chargeKeys).containsExactly("charge:ORD-1");
+        assertThat(gateway.charges.get(0)).isCancelled();
+        assertThat(meterRegistry.get("payments.timeout").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("payments.void.failed").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("헤지가 이기면 취소된 첫 요청도 취소 시점까지의 시간으로 응답 시간 표본에 남긴다")
+    void recordsElapsedTimeOfCancelledAttempt() {
+        StubGateway gateway = new StubGateway(attempt -> attempt == 0
+                ? new CompletableFuture<>() // 첫 요청은 응답 없음
+                : CompletableFuture.supplyAsync(() -> true, CompletableFuture.delayedExecutor(10, TimeUnit.MILLISECONDS)));
+        client = newClient(gateway, true);
+
+        PaymentOutcome outcome = client.charge("ORD-2", 10_000);
+
+        assertThat(outcome).isEqualTo(PaymentOutcome.APPROVED);
+        assertThat(gateway.chargeKeys).containsExactly("charge:ORD-2", "charge:ORD-2");
+        assertThat(gateway.charges.get(0)).isCancelled();
+        assertThat(client.latencySampleCount()).isEqualTo(2);
+        assertThat(gateway.voided).isNotDone();
+    }
+
+    @Test
+    @DisplayName("거절된 결제도 응답 시간 표본에 남기고 무효화하지 않는다")
+    void recordsDeclinedAttempt() {
+        StubGateway gateway = new StubGateway(attempt -> CompletableFuture.completedFuture(false));
+        client = newClient(gateway, false);
+
+        PaymentOutcome outcome = client.charge("ORD-3", 10_000);
+
+        assertThat(outcome).isEqualTo(PaymentOutcome.DECLINED);
+        assertThat(client.latencySampleCount()).isEqualTo(1);
+        assertThat(gateway.voided).isNotDone();
+    }
+
+    @Test
+    @DisplayName("5xx 같은 오류는 거절이 아니며, 무효화가 확인되지 않으면 UNKNOWN 이다")
+    void errorWithUnconfirmedVoidIsUnknown() {
+        StubGateway gateway = new StubGateway(attempt ->
+                CompletableFuture.failedFuture(new IllegalStateException("503 Service Unavailable")));
+        gateway.voidSucceeds = false;
+        client = newClient(gateway, false);
+
+        PaymentOutcome outcome = client.charge("ORD-4", 10_000);
+
+        assertThat(outcome).isEqualTo(PaymentOutcome.UNKNOWN);
+        assertThat(gateway.voided).isCompletedWithValue("charge:ORD-4");
+        assertThat(meterRegistry.get("payments.unknown").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("payments.void.failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("헤지가 먼저 승인되면 뒤늦은 첫 요청 오류와 관계없이 승인이다")
+    void approvedHedgeWinsOverError() {
+        StubGateway gateway = new StubGateway(attempt -> attempt == 0
+                ? CompletableFuture.supplyAsync(() -> {
+                    throw new IllegalStateException("연결 끊김");
+                }, CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS))
+                : CompletableFuture.completedFuture(true));
+        client = newClient(gateway, true);
+
+        PaymentOutcome outcome = client.charge("ORD-5", 10_000);
+
+        assertThat(outcome).isEqualTo(PaymentOutcome.APPROVED);
+        assertThat(gateway.voided).isNotDone();
+    }
+
+    private HedgedPaymentClient newClient(PaymentGateway gateway, boolean hedging) {
+        PaymentProperties properties = new PaymentProperties();
+        properties.setTimeout(Duration.ofMillis(200));
+        properties.getHedging().setEnabled(hedging);
+        properties.getHedging().setInitialDelay(Duration.ofMillis(20));
+        properties.getHedging().setBudgetRatio(1); // 첫 결제부터 헤지할 수 있도록
+        return new HedgedPaymentClient(gateway, ObservationRegistry.NOOP, properties, meterRegistry);
+    }
+
+    /**
+     * 요청 순서별로 응답 future 를 정하는 결제 API 대역
+     */
+    private static class StubGateway implements PaymentGateway {
+
+        private final IntFunction<CompletableFuture<Boolean>> responses;
+        private final List<CompletableFuture<Boolean>> charges = new CopyOnWriteArrayList<>();
+        private final List<String> chargeKeys = new CopyOnWriteArrayList<>();
+        private final CompletableFuture<String> voided = new CompletableFuture<>();
+        private volatile boolean voidSucceeds = true;
+
+        StubGateway(IntFunction<CompletableFuture<Boolean>> responses) {
+            this.responses = responses;
+        }
+
+        @Override
+        public boolean charge(String idempotencyKey, String orderNumber, int amount) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public synchronized CompletableFuture<Boolean> chargeAsync(String idempotencyKey, String orderNumber, int amount,
+                                                                   Executor executor) {
+            CompletableFuture<Boolean> response = responses.apply(charges.size());
+            charges.add(response);
+            chargeKeys.add(idempotencyKey);
+            return response;
+        }
+
+        @Override
+        public boolean voidCharge(String idempotencyKey, String orderNumber, int amount) {
+            voided.complete(idempotencyKey);
+            return voidSucceeds;
+        }
+
+        @Override
+        public boolean refund(String idempotencyKey, String orderNumber, int amount) {
+            return true;
+        }
+
+        @Override
+        public boolean checkHealth() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,403 @@
+package com.codeit.actuator.stress;
+
+import com.codeit.actuator.domain.Product;
+import com.codeit.actuator.dto.OrderRequest;
+import com.codeit.actuator.dto.OrderResponse;
+import com.codeit.actuator.exception.PaymentOutcomeUnknownException;
+import com.codeit.actuator.repository.ProductRepository;
+import com.codeit.actuator.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 재고 정합성 스트레스 테스트 (./gradlew stressTest, 로컬 PostgreSQL 필요)
+ *
+ * 라운드마다 상품 몇 개를 새로 만들고 설정한 스레드 수로 주문 생성/취소를 동시에 보내서 같은 재고 행을 두고 경합시킵니다.
+ * 끝나면 상품마다 최종 재고 = 초기 재고 - 취소되지 않은 주문 수량 합계(DB 기준, 성공 응답 기준 모두), 재고 >= 0,
+ * 주문번호 중복 없음을 확인합니다. 라운드별 처리량과 지연은 release 별로 CSV 에 누적해서 버전 간 비교에 씁니다.
+ *
+ * 설정은 -Pstress.threads=8,64 처럼 stress.* 프로퍼티로 바꿀 수 있습니다 (stressTest 태스크가 시스템 프로퍼티로 넘김).
+ */
+@Tag("stress")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.codeit=INFO",
+        "logging.level.com.codeit.actuator.service=WARN", // 주문마다 남는 로그 생략
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "app.seed.sample.enabled=false",
+        // 결제 지연은 짧게 (경합은 재고 UPDATE 에 집중)
+        "app.payment.simulator.median-latency=PT0.002S",
+        "app.payment.simulator.p99-latency=PT0.02S",
+        "app.payment.simulator.outage-probability=0.001",
+        "app.payment.simulator.outage-duration=PT0.2S"
+})
+class StockConsistencyStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StockConsistencyStressTest.class);
+
+    private static final String CATEGORY = "stress";
+    private static final int PRICE = 1000;
+    private static final int MAX_LOGGED_ERRORS = 5;
+    private static final String REPORT_FILE = "stock-consistency.csv";
+    private static final String REPORT_HEADER =
+            "release,timestamp,threads,operations,seconds,ops_per_sec,created,cancelled,failed,p50_ms,p99_ms,max_ms,passed";
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${stress.threads:1,8,32,64}")
+    private int[] threads;             // 라운드별 동시 요청 스레드 수
+
+    @Value("${stress.operations:3000}")
+    private int operations;            // 라운드당 요청 수 (생성 + 취소)
+
+    @Value("${stress.skus:3}")
+    private int skus;                  // 경합시킬 상품 수 (라운드마다 새로 생성)
+
+    @Value("${stress.initial-stock:3000}")
+    private int initialStock;
+
+    @Value("${stress.max-lines:2}")
+    private int maxLines;              // 주문 하나에 담는 최대 상품 수
+
+    @Value("${stress.max-quantity:3}")
+    private int maxQuantity;           // 상품당 최대 주문 수량
+
+    @Value("${stress.cancel-ratio:0.3}")
+    private double cancelRatio;        // 요청 중 취소 비율 (취소할 주문이 있을 때)
+
+    @Value("${stress.release:dev}")
+    private String release;            // 결과 파일에 남길 버전
+
+    @Value("${stress.report-directory:./build/stress}")
+    private String reportDirectory;
+
+    @Test
+    void stockStaysConsistentUnderConcurrentOrders() throws Exception {
+        log.info("재고 정합성 스트레스 테스트 시작 - 스레드: {}, 라운드당 요청: {}건, 상품: {}개 (재고 {}개씩)",
+                Arrays.toString(threads), operations, skus, initialStock);
+
+        List<RoundResult> results = new ArrayList<>();
+        for (int roundThreads : threads) {
+            RoundResult result = runRound(roundThreads);
+            results.add(result);
+            log.info("라운드 완료 - 스레드: {}, {}초, 초당 {}건, 생성: {}, 취소: {}, 실패: {} {}, 위반: {}건",
+                    roundThreads, String.format("%.2f", result.seconds()), String.format("%.0f", result.throughput()),
+                    result.created(), result.cancelled(), result.failedCount(), result.failures(),
+                    result.violations().size());
+        }
+        Path report = report(results);
+
+        log.info(String.format("%8s %10s %10s %10s %10s %8s", "threads", "ops/s", "p50(ms)", "p99(ms)", "failed", "result"));
+        for (RoundResult result : results) {
+            log.info(String.format("%8d %10.0f %10.1f %10.1f %10d %8s", result.threads(), result.throughput(),
+                    result.p50Millis(), result.p99Millis(), result.failedCount(), result.passed() ? "PASS" : "FAIL"));
+        }
+        log.info("결과 기록: {}", report.toAbsolutePath());
+
+        Map<Integer, List<String>> violations = new LinkedHashMap<>();
+        results.forEach(result -> violations.put(result.threads(), result.violations()));
+        assertThat(violations).as("스레드 수별 재고 정합성 위반").allSatisfy((roundThreads, roundViolations) ->
+                assertThat(roundViolations).as("스레드 %d", roundThreads).isEmpty());
+        assertThat(results).as("라운드마다 주문이 하나 이상 생성되어야 함")
+                .allSatisfy(result -> assertThat(result.created()).isPositive());
+    }
+
+    private RoundResult runRound(int threads) throws InterruptedException, ExecutionException {
+        List<Long> productIds = new ArrayList<>();
+        for (int i = 0; i < skus; i++) {
+            Product product = productRepository.save(Product.create("stress-" + threads + "-" + i,
+                    "재고 정합성 스트레스 테스트", PRICE, initialStock, CATEGORY));
+            productIds.add(product.getId());
+        }
+        Round round = new Round(productIds, operations);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> workers = new ArrayList<>();
+        long startedAt;
+        try {
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    work(round);
+                    return null;
+                }));
+            }
+            startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+        long[] latencies = round.latencies.clone();
+        Arrays.sort(latencies);
+        Map<String, Long> failures = new TreeMap<>();
+        round.failures.forEach((outcome, count) -> failures.put(outcome, count.sum()));
+        return new RoundResult(threads, operations, seconds,
+                round.created.sum(), round.cancelled.sum(), failures,
+                percentileMillis(latencies, 0.5), percentileMillis(latencies, 0.99),
+                latencies[latencies.length - 1] / 1e6, verify(round));
+    }
+
+    /**
+     * 요청 번호를 하나씩 받아서 모두 소진할 때까지 생성 또는 취소
+     */
+    private void work(Round round) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int ticket;
+        while ((ticket = round.tickets.getAndIncrement()) < round.latencies.length) {
+            long startedAt = System.nanoTime();
+            Long orderId = random.nextDouble() < cancelRatio ? round.cancellable.poll() : null;
+            if (orderId != null) {
+                cancel(round, orderId);
+            } else {
+                create(round, random);
+            }
+            round.latencies[ticket] = System.nanoTime() - startedAt;
+        }
+    }
+
+    private void create(Round round, ThreadLocalRandom random) {
+        Map<Long, Integer> lines = new TreeMap<>();
+        int lineCount = 1 + random.nextInt(Math.min(maxLines, round.productIds.size()));
+        while (lines.size() < lineCount) {
+            lines.put(round.productIds.get(random.nextInt(round.productIds.size())), 1 + random.nextInt(maxQuantity));
+        }
+        List<OrderRequest.Item> items = lines.entrySet().stream()
+                .map(line -> new OrderRequest.Item(line.getKey(), line.getValue()))
+                .toList();
+
+        try {
+            OrderResponse response = orderService.create(new OrderRequest(
+                    null, null, items, "stress", "stress@mycompany.com", "stress"));
+            if (!round.orderNumbers.add(response.getOrderNumber())) {
+                round.duplicateOrderNumbers.increment();
+            }
+            round.record(lines, 1);
+            round.orderLines.put(response.getId(), lines);
+            round.cancellable.add(response.getId());
+            round.created.increment();
+        } catch (PaymentOutcomeUnknownException e) {
+            // 결제 결과를 모르면 주문은 대기 상태로 남아 재고를 잡고 있음
+            round.record(lines, 1);
+            round.failures.computeIfAbsent("create.payment-unknown", key -> new LongAdder()).increment();
+        } catch (RuntimeException e) {
+            fail(round, "create", e);
+        }
+    }
+
+    private void cancel(Round round, Long orderId) {
+        try {
+            orderService.cancel(orderId);
+            round.record(round.orderLines.get(orderId), -1);
+            round.cancelled.increment();
+        } catch (RuntimeException e) {
+            fail(round, "cancel", e);
+        }
+    }
+
+    /**
+     * 실패 분류 (재고 부족과 결제 실패는 정상적인 거절, 그 밖의 예외는 처음 몇 건만 로그)
+     */
+    private void fail(Round round, String operation, RuntimeException e) {
+        String message = e.getMessage() != null ? e.getMessage() : "";
+        String outcome;
+        if (message.startsWith("재고가 부족")) {
+            outcome = operation + ".out-of-stock";
+        } else if (message.startsWith("결제 처리에 실패")) {
+            outcome = operation + ".payment-failed";
+        } else {
+            outcome = operation + "." + e.getClass().getSimpleName();
+            if (round.loggedErrors.incrementAndGet() <= MAX_LOGGED_ERRORS) {
+                log.warn("예상하지 못한 {} 실패", operation, e);
+            }
+        }
+        round.failures.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * 불변식 확인 (위반 내용 목록, 비어 있으면 통과)
+     */
+    private List<String> verify(Round round) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        String placeholders = String.join(", ", round.productIds.stream().map(id -> "?").toList());
+        Object[] ids = round.productIds.toArray();
+
+        Map<Long, Long> stocks = new HashMap<>();
+        jdbcTemplate.query("SELECT id, stock FROM products WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    stocks.put(rs.getLong("id"), rs.getLong("stock"));
+                }, ids);
+        Map<Long, Long> sold = new HashMap<>();
+        jdbcTemplate.query("""
+                        SELECT i.product_id, SUM(i.quantity) AS sold
+                        FROM order_items i JOIN orders o ON o.id = i.order_id
+                        WHERE o.status <> 'CANCELLED' AND i.product_id IN (%s)
+                        GROUP BY i.product_id
+                        """.formatted(placeholders),
+                rs -> {
+                    sold.put(rs.getLong("product_id"), rs.getLong("sold"));
+                }, ids);
+
+        List<String> violations = new ArrayList<>();
+        for (Long productId : round.productIds) {
+            long stock = stocks.get(productId);
+            long dbSold = sold.getOrDefault(productId, 0L);
+            long acknowledgedSold = round.netSold.get(productId).sum();
+            if (stock < 0) {
+                violations.add(String.format("상품 %d: 재고가 음수 (%d)", productId, stock));
+            }
+            if (stock != initialStock - dbSold) {
+                violations.add(String.format("상품 %d: 최종 재고 %d != 초기 재고 %d - 주문 수량 %d",
+                        productId, stock, initialStock, dbSold));
+            }
+            if (acknowledgedSold != dbSold) {
+                violations.add(String.format("상품 %d: 성공 응답 기준 판매량 %d != DB 판매량 %d",
+                        productId, acknowledgedSold, dbSold));
+            }
+        }
+
+        if (round.duplicateOrderNumbers.sum() > 0) {
+            violations.add(String.format("같은 주문번호 응답 %d건", round.duplicateOrderNumbers.sum()));
+        }
+        Long duplicated = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM (
+                    SELECT order_number FROM orders GROUP BY order_number HAVING COUNT(*) > 1
+                ) d
+                """, Long.class);
+        if (duplicated != null && duplicated > 0) {
+            violations.add(String.format("중복된 주문번호 %d개", duplicated));
+        }
+
+        violations.forEach(violation -> log.error("불변식 위반 - {}", violation));
+        return violations;
+    }
+
+    /**
+     * 라운드 결과를 release 별 이력 CSV 에 추가
+     */
+    private Path report(List<RoundResult> results) throws IOException {
+        Path directory = Path.of(reportDirectory);
+        Files.createDirectories(directory);
+        Path file = directory.resolve(REPORT_FILE);
+
+        StringBuilder csv = new StringBuilder();
+        if (!Files.exists(file)) {
+            csv.append(REPORT_HEADER).append('\n');
+        }
+        String timestamp = OffsetDateTime.now().withNano(0).toString();
+        for (RoundResult result : results) {
+            csv.append(String.format("%s,%s,%d,%d,%.3f,%.1f,%d,%d,%d,%.2f,%.2f,%.2f,%b%n",
+                    release, timestamp, result.threads(), result.operations(), result.seconds(),
+                    result.throughput(), result.created(), result.cancelled(), result.failedCount(),
+                    result.p50Millis(), result.p99Millis(), result.maxMillis(), result.passed()));
+        }
+        Files.writeString(file, csv, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return file;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+
+    /**
+     * 라운드 하나의 진행 상태 (여러 스레드가 함께 갱신)
+     */
+    private static final class Round {
+
+        private final List<Long> productIds;
+        private final long[] latencies; // 요청 번호별 지연 (ns)
+        private final AtomicInteger tickets = new AtomicInteger();
+
+        private final Map<Long, LongAdder> netSold = new HashMap<>(); // 성공 응답 기준 (생성 - 취소)
+        private final Map<Long, Map<Long, Integer>> orderLines = new ConcurrentHashMap<>();
+        private final ConcurrentLinkedQueue<Long> cancellable = new ConcurrentLinkedQueue<>();
+        private final Set<String> orderNumbers = ConcurrentHashMap.newKeySet();
+
+        private final LongAdder created = new LongAdder();
+        private final LongAdder cancelled = new LongAdder();
+        private final LongAdder duplicateOrderNumbers = new LongAdder();
+        private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+        private final AtomicInteger loggedErrors = new AtomicInteger();
+
+        Round(List<Long> productIds, int operations) {
+            this.productIds = productIds;
+            this.latencies = new long[operations];
+            productIds.forEach(productId -> netSold.put(productId, new LongAdder()));
+        }
+
+        void record(Map<Long, Integer> lines, int sign) {
+            lines.forEach((productId, quantity) -> netSold.get(productId).add((long) sign * quantity));
+        }
+    }
+
+    private record RoundResult(int threads,
+                               int operations,
+                               double seconds,
+                               long created,
+                               long cancelled,
+                               Map<String, Long> failures,
+                               double p50Millis,
+                               double p99Millis,
+                               double maxMillis,
+                               List<String> violations) {
+
+        double throughput() {
+            return operations / Math.max(seconds, 1e-9);
+        }
+
+        long failedCount() {
+            return failures.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        boolean passed() {
+            return violations.isEmpty();
+        }
+    }
+}